@@ -0,0 +1,58 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Latency of the first parse in a fresh JVM, creating the parser and resolving the English and
+ * Spanish dialects, as paid by short-lived processes such as command line tools and test forks.
+ * Each fork measures a single shot, so the score is the average over the forks:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ColdStartBenchmark -f 50
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStartBenchmark {
+
+    private static final String ENGLISH = """
+        Feature: Cold start
+          Scenario: First parse
+            Given a fresh JVM
+            When a document is parsed
+            Then the dialects are resolved
+        """;
+
+    private static final String SPANISH = """
+        # language: es
+        Característica: Arranque en frío
+          Escenario: Primer análisis
+            Dado que la JVM acaba de arrancar
+            Cuando se analiza un documento
+            Entonces se resuelven los dialectos
+        """;
+
+
+    @Benchmark
+    public List<GherkinDocument> firstParse() {
+        var parser = new GherkinParser(new DefaultKeywordMapProvider());
+        return List.of(parser.parse(new StringReader(ENGLISH)), parser.parse(new StringReader(SPANISH)));
+    }
+
+}
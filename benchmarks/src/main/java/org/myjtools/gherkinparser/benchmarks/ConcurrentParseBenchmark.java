@@ -0,0 +1,137 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Documents parsed per second by several threads, either sharing a single parser (and so its
+ * dialect factory and keyword map provider) or using a parser per thread. The corpus mixes
+ * English and Spanish features, so the shared dialects are looked up constantly.
+ * <p>
+ * JMH runs it with the thread count given by {@code -t}; the main method runs it with 1, 2,
+ * 4... up to the available processors and prints the scaling of each variant. Contention
+ * hotspots show up with the stack profiler, as threads in the {@code BLOCKED} state:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ConcurrentParseBenchmark -t 8 -prof stack
+ * java -cp benchmarks/target/benchmarks.jar org.myjtools.gherkinparser.benchmarks.ConcurrentParseBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentParseBenchmark {
+
+    private static final CorpusSpec CORPUS = CorpusSpec.builder().features(200).languages("en", "es").build();
+
+
+    @State(Scope.Benchmark)
+    public static class Corpus {
+
+        byte[][] documents;
+
+        @Setup
+        public void setUp() {
+            documents = new CorpusGenerator(CORPUS).features()
+                .map(it -> it.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class SharedParser {
+
+        GherkinParser parser;
+
+        @Setup
+        public void setUp() {
+            parser = new GherkinParser(new DefaultKeywordMapProvider());
+        }
+    }
+
+
+    @State(Scope.Thread)
+    public static class ThreadParser {
+
+        GherkinParser parser;
+        int next;
+
+        @Setup
+        public void setUp() {
+            parser = new GherkinParser(new DefaultKeywordMapProvider());
+        }
+    }
+
+
+    @Benchmark
+    public GherkinDocument sharedParser(Corpus corpus, SharedParser shared, ThreadParser thread) {
+        return shared.parser.parse(new ByteArrayInputStream(nextDocument(corpus, thread)));
+    }
+
+
+    @Benchmark
+    public GherkinDocument perThreadParser(Corpus corpus, ThreadParser thread) {
+        return thread.parser.parse(new ByteArrayInputStream(nextDocument(corpus, thread)));
+    }
+
+
+    private static byte[] nextDocument(Corpus corpus, ThreadParser thread) {
+        byte[] document = corpus.documents[thread.next];
+        thread.next = (thread.next + 1) % corpus.documents.length;
+        return document;
+    }
+
+
+    public static void main(String[] args) throws RunnerException {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(Runtime.getRuntime().availableProcessors());
+
+        for (String variant : List.of("sharedParser", "perThreadParser")) {
+            double base = 0;
+            List<String> lines = new ArrayList<>();
+            for (int threads : threadCounts) {
+                var options = new OptionsBuilder()
+                    .include(ConcurrentParseBenchmark.class.getName() + "\\." + variant + "$")
+                    .threads(threads)
+                    .build();
+                RunResult result = new Runner(options).runSingle();
+                double score = result.getPrimaryResult().getScore();
+                if (threads == 1) {
+                    base = score;
+                }
+                lines.add("%-16s %3d threads %12.0f docs/s   speedup %5.2fx   efficiency %4.0f%%".formatted(
+                    variant, threads, score, score / base, 100 * score / (base * threads)
+                ));
+            }
+            lines.forEach(System.out::println);
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordMapProvider;
+import org.myjtools.gherkinparser.KeywordType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Generates synthetic feature files with the shape described by a {@link CorpusSpec}, using
+ * the keywords of the dialects provided by a {@link KeywordMapProvider}.
+ * <p>
+ * Each feature only depends on the seed, the spec and its index, so a corpus can be generated
+ * again, or in parallel, without keeping it in memory. It can also be written to disk, for
+ * soak tests with corpora of several gigabytes:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.myjtools.gherkinparser.benchmarks.CorpusGenerator \
+ *     target/corpus 4g [seed]
+ * </pre>
+ */
+public final class CorpusGenerator {
+
+    private static final String[] WORDS = {
+        "user", "account", "order", "payment", "invoice", "customer", "product", "cart",
+        "report", "session", "request", "response", "message", "document", "record", "item",
+        "is", "has", "sends", "receives", "creates", "deletes", "updates", "validates",
+        "the", "a", "with", "without", "from", "to", "valid", "invalid", "new", "empty"
+    };
+
+    private static final int FEATURES_PER_DIRECTORY = 1_000;
+
+    private final CorpusSpec spec;
+    private final Map<String, KeywordMap> dialects = new LinkedHashMap<>();
+
+
+    public CorpusGenerator(CorpusSpec spec) {
+        this(spec, new DefaultKeywordMapProvider());
+    }
+
+
+    public CorpusGenerator(CorpusSpec spec, KeywordMapProvider keywordMapProvider) {
+        this.spec = spec;
+        for (String language : spec.languages()) {
+            dialects.put(language, keywordMapProvider.keywordMap(Locale.forLanguageTag(language))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown language: " + language)));
+        }
+    }
+
+
+    /** The features of the corpus, generated on demand */
+    public Stream<String> features() {
+        return IntStream.range(0, spec.features()).mapToObj(this::feature);
+    }
+
+
+    /**
+     * The text of the feature at the given position. Any index is valid, so corpora larger
+     * than {@link CorpusSpec#features()} can be generated.
+     */
+    public String feature(int index) {
+        var random = new SplittableRandom(spec.seed() * 0x9E3779B97F4A7C15L + index);
+        String language = spec.languages().get(random.nextInt(spec.languages().size()));
+        var writer = new FeatureWriter(dialects.get(language));
+        if (!language.equals("en") || chance(random, spec.languageHeaderProbability())) {
+            writer.language(language);
+        }
+        tags(random, writer, "");
+        writer.feature("Feature " + index + " " + sentence(random, 3));
+        writer.line("  " + sentence(random, 8));
+        if (chance(random, spec.backgroundProbability())) {
+            writer.blank().background();
+            steps(random, writer, null);
+        }
+        int scenarios = spec.scenariosPerFeature().sample(random);
+        for (int scenario = 0; scenario < scenarios; scenario++) {
+            writer.blank();
+            comment(random, writer, "  ");
+            tags(random, writer, "  ");
+            if (chance(random, spec.outlineProbability())) {
+                scenarioOutline(random, writer, scenario);
+            } else {
+                writer.scenario("Scenario " + scenario + " " + sentence(random, 4));
+                steps(random, writer, null);
+            }
+        }
+        return writer.toString();
+    }
+
+
+    /**
+     * Writes the features of the corpus in the given directory, in subdirectories of up to
+     * 1000 files
+     * @return the number of bytes written
+     */
+    public long writeTo(Path directory) throws IOException {
+        return writeTo(directory, spec.features(), Long.MAX_VALUE);
+    }
+
+
+    /**
+     * Writes features in the given directory until either the number of features or the
+     * number of bytes is reached
+     * @return the number of bytes written
+     */
+    public long writeTo(Path directory, int maxFeatures, long maxBytes) throws IOException {
+        long bytes = 0;
+        for (int index = 0; index < maxFeatures && bytes < maxBytes; index++) {
+            Path subdirectory = directory.resolve("%04d".formatted(index / FEATURES_PER_DIRECTORY));
+            if (index % FEATURES_PER_DIRECTORY == 0) {
+                Files.createDirectories(subdirectory);
+            }
+            byte[] content = feature(index).getBytes(StandardCharsets.UTF_8);
+            Files.write(subdirectory.resolve("feature-%07d.feature".formatted(index)), content);
+            bytes += content.length;
+        }
+        return bytes;
+    }
+
+
+    /**
+     * Usage: {@code CorpusGenerator <directory> <features | size> [seed]}, where the size
+     * accepts the suffixes {@code k}, {@code m} and {@code g}. Uses the default spec with
+     * English and Spanish features.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CorpusGenerator <directory> <features | size[k|m|g]> [seed]");
+            System.exit(1);
+        }
+        var spec = CorpusSpec.builder()
+            .languages("en", "es")
+            .seed(args.length > 2 ? Long.parseLong(args[2]) : 42);
+        var generator = new CorpusGenerator(spec.build());
+        String amount = args[1].toLowerCase(Locale.ROOT);
+        long bytes;
+        if (Character.isDigit(amount.charAt(amount.length() - 1))) {
+            bytes = generator.writeTo(Path.of(args[0]), Integer.parseInt(amount), Long.MAX_VALUE);
+        } else {
+            bytes = generator.writeTo(Path.of(args[0]), Integer.MAX_VALUE, size(amount));
+        }
+        System.out.printf("%d bytes written to %s%n", bytes, args[0]);
+    }
+
+
+    private void scenarioOutline(SplittableRandom random, FeatureWriter writer, int scenario) {
+        int columns = Math.max(1, spec.tableColumns().sample(random));
+        List<String> header = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            header.add("column" + column);
+        }
+        writer.scenarioOutline("Outline " + scenario + " " + sentence(random, 4));
+        steps(random, writer, header);
+        writer.blank().examples().row(header);
+        int rows = spec.examplesRows().sample(random);
+        for (int row = 0; row < rows; row++) {
+            writer.row(cells(random, columns));
+        }
+    }
+
+
+    private void steps(SplittableRandom random, FeatureWriter writer, List<String> placeholders) {
+        int steps = Math.max(1, spec.stepsPerScenario().sample(random));
+        for (int step = 0; step < steps; step++) {
+            comment(random, writer, "    ");
+            String text = sentence(random, 3 + random.nextInt(6));
+            if (placeholders != null) {
+                text += " <" + placeholders.get(random.nextInt(placeholders.size())) + ">";
+            } else if (random.nextInt(4) == 0) {
+                text += " \"" + word(random) + random.nextInt(1000) + "\"";
+            }
+            writer.step(stepType(step, steps), text);
+            if (chance(random, spec.dataTableProbability())) {
+                int columns = Math.max(1, spec.tableColumns().sample(random));
+                int rows = Math.max(1, spec.dataTableRows().sample(random));
+                for (int row = 0; row < rows; row++) {
+                    writer.row(cells(random, columns));
+                }
+            } else if (chance(random, spec.docStringProbability())) {
+                int lines = spec.docStringLines().sample(random);
+                List<String> content = new ArrayList<>(lines);
+                for (int line = 0; line < lines; line++) {
+                    content.add(sentence(random, 10));
+                }
+                writer.docString(content);
+            }
+        }
+    }
+
+
+    private static KeywordType stepType(int step, int steps) {
+        if (step == 0) {
+            return KeywordType.GIVEN;
+        } else if (step == steps - 1) {
+            return KeywordType.THEN;
+        } else if (step == steps / 2) {
+            return KeywordType.WHEN;
+        }
+        return KeywordType.AND;
+    }
+
+
+    private void tags(SplittableRandom random, FeatureWriter writer, String indent) {
+        int tags = spec.tagsPerScenario().sample(random);
+        List<String> line = new ArrayList<>(spec.tagsPerLine());
+        for (int tag = 0; tag < tags; tag++) {
+            line.add("tag" + random.nextInt(spec.tagVocabulary()));
+            if (line.size() == spec.tagsPerLine() || tag == tags - 1) {
+                writer.tags(indent, line);
+                line.clear();
+            }
+        }
+    }
+
+
+    private void comment(SplittableRandom random, FeatureWriter writer, String indent) {
+        if (chance(random, spec.commentProbability())) {
+            writer.comment(indent, sentence(random, 6));
+        }
+    }
+
+
+    private static List<String> cells(SplittableRandom random, int columns) {
+        List<String> cells = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            cells.add(word(random) + random.nextInt(100));
+        }
+        return cells;
+    }
+
+
+    private static String sentence(SplittableRandom random, int words) {
+        var sentence = new StringBuilder(word(random));
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(word(random));
+        }
+        return sentence.toString();
+    }
+
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+
+    private static boolean chance(SplittableRandom random, double probability) {
+        return probability > 0.0 && random.nextDouble() < probability;
+    }
+
+
+    private static long size(String amount) {
+        long multiplier = switch (amount.charAt(amount.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> throw new IllegalArgumentException("Invalid size: " + amount);
+        };
+        return Long.parseLong(amount.substring(0, amount.length() - 1)) * multiplier;
+    }
+
+}
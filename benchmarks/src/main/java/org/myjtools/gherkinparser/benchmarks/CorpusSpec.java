@@ -0,0 +1,324 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Shape of a corpus produced by a {@link CorpusGenerator}: how many features it has, the
+ * distributions of their sizes and how often each optional element appears.
+ * <p>
+ * The defaults resemble a hand-written test suite: a few scenarios per feature, short
+ * scenarios, occasional tables and doc strings, and a small vocabulary of tags.
+ */
+public final class CorpusSpec {
+
+    private final long seed;
+    private final int features;
+    private final List<String> languages;
+    private final double languageHeaderProbability;
+    private final double backgroundProbability;
+    private final Distribution scenariosPerFeature;
+    private final double outlineProbability;
+    private final Distribution stepsPerScenario;
+    private final Distribution tableColumns;
+    private final Distribution examplesRows;
+    private final double dataTableProbability;
+    private final Distribution dataTableRows;
+    private final double docStringProbability;
+    private final Distribution docStringLines;
+    private final Distribution tagsPerScenario;
+    private final int tagsPerLine;
+    private final int tagVocabulary;
+    private final double commentProbability;
+
+
+    private CorpusSpec(Builder builder) {
+        this.seed = builder.seed;
+        this.features = builder.features;
+        this.languages = builder.languages;
+        this.languageHeaderProbability = builder.languageHeaderProbability;
+        this.backgroundProbability = builder.backgroundProbability;
+        this.scenariosPerFeature = builder.scenariosPerFeature;
+        this.outlineProbability = builder.outlineProbability;
+        this.stepsPerScenario = builder.stepsPerScenario;
+        this.tableColumns = builder.tableColumns;
+        this.examplesRows = builder.examplesRows;
+        this.dataTableProbability = builder.dataTableProbability;
+        this.dataTableRows = builder.dataTableRows;
+        this.docStringProbability = builder.docStringProbability;
+        this.docStringLines = builder.docStringLines;
+        this.tagsPerScenario = builder.tagsPerScenario;
+        this.tagsPerLine = builder.tagsPerLine;
+        this.tagVocabulary = builder.tagVocabulary;
+        this.commentProbability = builder.commentProbability;
+    }
+
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    public long seed() {
+        return seed;
+    }
+
+
+    public int features() {
+        return features;
+    }
+
+
+    public List<String> languages() {
+        return languages;
+    }
+
+
+    public double languageHeaderProbability() {
+        return languageHeaderProbability;
+    }
+
+
+    public double backgroundProbability() {
+        return backgroundProbability;
+    }
+
+
+    public Distribution scenariosPerFeature() {
+        return scenariosPerFeature;
+    }
+
+
+    public double outlineProbability() {
+        return outlineProbability;
+    }
+
+
+    public Distribution stepsPerScenario() {
+        return stepsPerScenario;
+    }
+
+
+    public Distribution tableColumns() {
+        return tableColumns;
+    }
+
+
+    public Distribution examplesRows() {
+        return examplesRows;
+    }
+
+
+    public double dataTableProbability() {
+        return dataTableProbability;
+    }
+
+
+    public Distribution dataTableRows() {
+        return dataTableRows;
+    }
+
+
+    public double docStringProbability() {
+        return docStringProbability;
+    }
+
+
+    public Distribution docStringLines() {
+        return docStringLines;
+    }
+
+
+    public Distribution tagsPerScenario() {
+        return tagsPerScenario;
+    }
+
+
+    public int tagsPerLine() {
+        return tagsPerLine;
+    }
+
+
+    public int tagVocabulary() {
+        return tagVocabulary;
+    }
+
+
+    public double commentProbability() {
+        return commentProbability;
+    }
+
+
+    public static final class Builder {
+
+        private long seed = 42;
+        private int features = 100;
+        private List<String> languages = List.of("en");
+        private double languageHeaderProbability = 0.5;
+        private double backgroundProbability = 0.2;
+        private Distribution scenariosPerFeature = Distribution.skewed(1, 6, 100);
+        private double outlineProbability = 0.2;
+        private Distribution stepsPerScenario = Distribution.skewed(2, 5, 30);
+        private Distribution tableColumns = Distribution.uniform(2, 6);
+        private Distribution examplesRows = Distribution.skewed(1, 5, 500);
+        private double dataTableProbability = 0.1;
+        private Distribution dataTableRows = Distribution.skewed(1, 4, 200);
+        private double docStringProbability = 0.05;
+        private Distribution docStringLines = Distribution.skewed(1, 10, 1_000);
+        private Distribution tagsPerScenario = Distribution.skewed(0, 1.5, 20);
+        private int tagsPerLine = 4;
+        private int tagVocabulary = 50;
+        private double commentProbability = 0.05;
+
+
+        private Builder() { }
+
+
+        /** Seed of the generator; the same seed and settings always produce the same corpus */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+
+        public Builder features(int features) {
+            this.features = positive(features, "features");
+            return this;
+        }
+
+
+        /** Languages of the features, chosen with the same probability */
+        public Builder languages(String... languages) {
+            if (languages.length == 0) {
+                throw new IllegalArgumentException("at least one language is required");
+            }
+            this.languages = List.of(languages);
+            return this;
+        }
+
+
+        /**
+         * Probability of English features declaring their language; features in other
+         * languages always declare it
+         */
+        public Builder languageHeaderProbability(double probability) {
+            this.languageHeaderProbability = probability(probability, "languageHeaderProbability");
+            return this;
+        }
+
+
+        public Builder backgroundProbability(double probability) {
+            this.backgroundProbability = probability(probability, "backgroundProbability");
+            return this;
+        }
+
+
+        public Builder scenariosPerFeature(Distribution distribution) {
+            this.scenariosPerFeature = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        /** Probability of a scenario definition being a scenario outline */
+        public Builder outlineProbability(double probability) {
+            this.outlineProbability = probability(probability, "outlineProbability");
+            return this;
+        }
+
+
+        public Builder stepsPerScenario(Distribution distribution) {
+            this.stepsPerScenario = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        /** Columns of data tables and examples tables */
+        public Builder tableColumns(Distribution distribution) {
+            this.tableColumns = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        /** Rows of examples tables, not counting the header */
+        public Builder examplesRows(Distribution distribution) {
+            this.examplesRows = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        /** Probability of a step having a data table argument */
+        public Builder dataTableProbability(double probability) {
+            this.dataTableProbability = probability(probability, "dataTableProbability");
+            return this;
+        }
+
+
+        public Builder dataTableRows(Distribution distribution) {
+            this.dataTableRows = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        /** Probability of a step without data table having a doc string argument */
+        public Builder docStringProbability(double probability) {
+            this.docStringProbability = probability(probability, "docStringProbability");
+            return this;
+        }
+
+
+        public Builder docStringLines(Distribution distribution) {
+            this.docStringLines = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        public Builder tagsPerScenario(Distribution distribution) {
+            this.tagsPerScenario = Objects.requireNonNull(distribution);
+            return this;
+        }
+
+
+        public Builder tagsPerLine(int tagsPerLine) {
+            this.tagsPerLine = positive(tagsPerLine, "tagsPerLine");
+            return this;
+        }
+
+
+        /** Number of distinct tag names */
+        public Builder tagVocabulary(int tagVocabulary) {
+            this.tagVocabulary = positive(tagVocabulary, "tagVocabulary");
+            return this;
+        }
+
+
+        /** Probability of a comment line before each scenario and each step */
+        public Builder commentProbability(double probability) {
+            this.commentProbability = probability(probability, "commentProbability");
+            return this;
+        }
+
+
+        public CorpusSpec build() {
+            return new CorpusSpec(this);
+        }
+
+
+        private static int positive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+
+
+        private static double probability(double value, String name) {
+            if (value < 0.0 || value > 1.0) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1");
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * Distribution of a non-negative count, such as the steps of a scenario or the rows of a table
+ */
+@FunctionalInterface
+public interface Distribution {
+
+    int sample(SplittableRandom random);
+
+
+    static Distribution fixed(int value) {
+        return random -> value;
+    }
+
+
+    /** Values between {@code min} and {@code max} (both inclusive) with the same probability */
+    static Distribution uniform(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min cannot be greater than max");
+        }
+        return random -> random.nextInt(min, max + 1);
+    }
+
+
+    /**
+     * Values with a long tail: most of them close to {@code min}, with the given mean, and
+     * never greater than {@code max}. Resembles the size of hand-written scenarios and tables.
+     */
+    static Distribution skewed(int min, double mean, int max) {
+        if (min > max || mean < min) {
+            throw new IllegalArgumentException("expected min <= mean and min <= max");
+        }
+        double scale = mean - min;
+        return random -> (int) Math.min(max, min + Math.round(-scale * Math.log(1.0 - random.nextDouble())));
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordType;
+
+import java.util.List;
+
+
+/**
+ * Writes the text of a feature file using the keywords of a dialect
+ */
+final class FeatureWriter {
+
+    private final KeywordMap keywords;
+    private final StringBuilder text = new StringBuilder();
+
+
+    FeatureWriter(KeywordMap keywords) {
+        this.keywords = keywords;
+    }
+
+
+    /** First keyword of the given type, skipping the generic {@code *} step keyword */
+    String keyword(KeywordType type) {
+        List<String> candidates = keywords.keywords(type);
+        return candidates.stream().filter(it -> !it.equals("*")).findFirst().orElse(candidates.getFirst());
+    }
+
+
+    FeatureWriter blank() {
+        return line("");
+    }
+
+
+    FeatureWriter line(String line) {
+        text.append(line).append('\n');
+        return this;
+    }
+
+
+    FeatureWriter language(String language) {
+        return line("# language: " + language);
+    }
+
+
+    FeatureWriter comment(String indent, String comment) {
+        return line(indent + "# " + comment);
+    }
+
+
+    FeatureWriter tags(String indent, List<String> tags) {
+        return line(indent + "@" + String.join(" @", tags));
+    }
+
+
+    FeatureWriter feature(String name) {
+        return line(keyword(KeywordType.FEATURE) + ": " + name);
+    }
+
+
+    FeatureWriter background() {
+        return line("  " + keyword(KeywordType.BACKGROUND) + ":");
+    }
+
+
+    FeatureWriter scenario(String name) {
+        return line("  " + keyword(KeywordType.SCENARIO) + ": " + name);
+    }
+
+
+    FeatureWriter scenarioOutline(String name) {
+        return line("  " + keyword(KeywordType.SCENARIO_OUTLINE) + ": " + name);
+    }
+
+
+    FeatureWriter examples() {
+        return line("    " + keyword(KeywordType.EXAMPLES) + ":");
+    }
+
+
+    FeatureWriter step(KeywordType type, String text) {
+        return line("    " + keyword(type) + " " + text);
+    }
+
+
+    FeatureWriter row(List<String> cells) {
+        return line("      | " + String.join(" | ", cells) + " |");
+    }
+
+
+    FeatureWriter docString(List<String> content) {
+        line("      \"\"\"");
+        content.forEach(it -> line("      " + it));
+        return line("      \"\"\"");
+    }
+
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * End-to-end throughput of {@link GherkinParser#parse(java.io.InputStream)} for every
+ * {@link Shape} and dialect. Besides the operations per second, the {@code megabytes},
+ * {@code lines} and {@code documents} secondary results report MB/s, lines/s and documents/s.
+ * <p>
+ * Run it along with the GC profiler, so the allocation rate per operation
+ * ({@code gc.alloc.rate.norm}) is reported too:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ParseThroughputBenchmark -prof gc -rf json
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ParseThroughputBenchmark {
+
+    @Param({"SMALL_FILES", "HUGE_FEATURE", "WIDE_EXAMPLES", "DOC_STRINGS", "TAGS", "MIXED"})
+    public Shape shape;
+
+    @Param({"en", "es"})
+    public String language;
+
+    private GherkinParser parser;
+    private byte[][] documents;
+    private long bytes;
+    private long lines;
+
+
+    @Setup
+    public void setUp() {
+        var keywordMapProvider = new DefaultKeywordMapProvider();
+        parser = new GherkinParser(keywordMapProvider);
+        documents = new CorpusGenerator(shape.spec(language), keywordMapProvider).features()
+            .map(it -> it.getBytes(StandardCharsets.UTF_8))
+            .toArray(byte[][]::new);
+        for (byte[] document : documents) {
+            bytes += document.length;
+            for (byte b : document) {
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+
+    @Benchmark
+    public void parse(Throughput throughput, Blackhole blackhole) {
+        for (byte[] document : documents) {
+            blackhole.consume(parser.parse(new ByteArrayInputStream(document)));
+        }
+        throughput.add(documents.length, bytes, lines);
+    }
+
+
+    /**
+     * Secondary results, reported by JMH as rates per second
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+
+        public double megabytes;
+        public long lines;
+        public long documents;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+            lines = 0;
+            documents = 0;
+        }
+
+        void add(int documents, long bytes, long lines) {
+            this.documents += documents;
+            this.megabytes += bytes / 1_000_000.0;
+            this.lines += lines;
+        }
+    }
+
+}
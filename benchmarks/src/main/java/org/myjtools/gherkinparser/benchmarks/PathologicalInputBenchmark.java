@@ -0,0 +1,118 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+
+/**
+ * Parse time of adversarial inputs at 1x, 2x and 4x their base size. The time of each input
+ * should grow linearly with the scale; a 4x input taking much more than 4 times longer
+ * reveals a quadratic path in the parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathologicalInputBenchmark {
+
+    public enum Input {
+
+        /** Tag lines between the steps of an outline and its examples, read by the lookahead */
+        TAG_LINES_BEFORE_EXAMPLES(10_000, size ->
+            outline() + "    @tag1 @tag2 @tag3\n".repeat(size) + examples()),
+
+        /** Comment and empty lines after an examples tag line, read by the lookahead */
+        COMMENT_LINES_BEFORE_EXAMPLES(10_000, size ->
+            outline() + "    @tag\n" + "    # comment\n\n".repeat(size) + examples()),
+
+        /** A table row made of escaped pipes, backslashes and new lines */
+        ESCAPED_TABLE_CELLS(50_000, size ->
+            scenario() + "      |" + " \\|\\\\\\n |".repeat(size) + "\n"),
+
+        /** A wide table row with a huge indentation and non Latin-1 content */
+        WIDE_ROW_WITH_HUGE_INDENTATION(10_000, size ->
+            scenario() + " ".repeat(10 * size) + "|" + " cell ✓ |".repeat(size) + "\n"),
+
+        /** A tag line with a huge indentation and non Latin-1 content */
+        TAG_LINE_WITH_HUGE_INDENTATION(10_000, size ->
+            " ".repeat(10 * size) + "@tag✓ ".repeat(size) + "\nFeature: tags\n"),
+
+        /** Repeated language headers, only the first one is honored */
+        LANGUAGE_LINES(50_000, size ->
+            "# language: es\n".repeat(size) + "Característica: idiomas\n"),
+
+        /** Description lines full of keywords not followed by a colon */
+        KEYWORD_LIKE_PREFIXES(5_000, size -> "Feature: prefixes\n" +
+            ("  " + "Scenario Outline Given ".repeat(20) + "\n").repeat(size) +
+            "\n  Scenario: s\n    Given a step\n");
+
+        private final int baseSize;
+        private final IntFunction<String> generator;
+
+        Input(int baseSize, IntFunction<String> generator) {
+            this.baseSize = baseSize;
+            this.generator = generator;
+        }
+
+        String generate(int scale) {
+            return generator.apply(baseSize * scale);
+        }
+    }
+
+
+    @Param
+    public Input input;
+
+    @Param({"1", "2", "4"})
+    public int scale;
+
+    private GherkinParser parser;
+    private String text;
+
+
+    @Setup
+    public void setUp() {
+        parser = new GherkinParser(new DefaultKeywordMapProvider());
+        text = input.generate(scale);
+    }
+
+
+    @Benchmark
+    public GherkinDocument parse() {
+        return parser.parse(new StringReader(text));
+    }
+
+
+    private static String outline() {
+        return "Feature: lookahead\n\n  Scenario Outline: outline\n    Given a <value>\n";
+    }
+
+
+    private static String examples() {
+        return "    Examples:\n      | value |\n      | 1 |\n";
+    }
+
+
+    private static String scenario() {
+        return "Feature: tables\n\n  Scenario: scenario\n    Given a table:\n";
+    }
+
+}
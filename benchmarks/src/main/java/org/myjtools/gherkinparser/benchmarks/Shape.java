@@ -0,0 +1,88 @@
+package org.myjtools.gherkinparser.benchmarks;
+
+import java.util.function.UnaryOperator;
+
+
+/**
+ * Representative shapes of the corpora used by the benchmarks. Every shape produces a few
+ * megabytes of text, so a benchmark operation takes milliseconds.
+ */
+public enum Shape {
+
+    /** Many short features with a few scenarios each */
+    SMALL_FILES(spec -> spec
+        .features(2_000)
+        .scenariosPerFeature(Distribution.fixed(3))
+        .stepsPerScenario(Distribution.fixed(4))
+    ),
+
+    /** A single feature with thousands of scenarios and a background */
+    HUGE_FEATURE(spec -> spec
+        .backgroundProbability(1.0)
+        .scenariosPerFeature(Distribution.fixed(5_000))
+        .stepsPerScenario(Distribution.fixed(6))
+    ),
+
+    /** Scenario outlines with examples tables of many columns and rows */
+    WIDE_EXAMPLES(spec -> spec
+        .scenariosPerFeature(Distribution.fixed(20))
+        .outlineProbability(1.0)
+        .tableColumns(Distribution.fixed(40))
+        .examplesRows(Distribution.fixed(200))
+    ),
+
+    /** Steps with long doc string arguments */
+    DOC_STRINGS(spec -> spec
+        .scenariosPerFeature(Distribution.fixed(500))
+        .docStringProbability(1.0)
+        .docStringLines(Distribution.fixed(20))
+    ),
+
+    /** Scenarios preceded by several lines of tags */
+    TAGS(spec -> spec
+        .scenariosPerFeature(Distribution.fixed(2_000))
+        .tagsPerScenario(Distribution.fixed(24))
+        .tagsPerLine(8)
+        .tagVocabulary(500)
+    ),
+
+    /** Features with the default spec, resembling a hand-written test suite */
+    MIXED(false, spec -> spec.features(500));
+
+
+    private final boolean plain;
+    private final UnaryOperator<CorpusSpec.Builder> customizer;
+
+
+    Shape(UnaryOperator<CorpusSpec.Builder> customizer) {
+        this(true, customizer);
+    }
+
+
+    Shape(boolean plain, UnaryOperator<CorpusSpec.Builder> customizer) {
+        this.plain = plain;
+        this.customizer = customizer;
+    }
+
+
+    /**
+     * The spec of this shape for the given language. Except for {@link #MIXED}, every optional
+     * element is disabled unless the shape enables it.
+     */
+    public CorpusSpec spec(String language) {
+        var spec = CorpusSpec.builder().languages(language).languageHeaderProbability(1.0);
+        if (!plain) {
+            return customizer.apply(spec).build();
+        }
+        spec.features(1)
+            .backgroundProbability(0.0)
+            .outlineProbability(0.0)
+            .stepsPerScenario(Distribution.fixed(2))
+            .dataTableProbability(0.0)
+            .docStringProbability(0.0)
+            .tagsPerScenario(Distribution.fixed(0))
+            .commentProbability(0.0);
+        return customizer.apply(spec).build();
+    }
+
+}
@@ -2,4 +2,6 @@ module org.myjtools.gherkinparser {
     exports org.myjtools.gherkinparser;
     exports org.myjtools.gherkinparser.elements;
     requires static lombok;
-}
\ No newline at end of file
+    requires static java.management;
+    requires static jdk.jfr;
+}
@@ -0,0 +1,134 @@
+package org.myjtools.gherkinparser;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Summary of a {@link GherkinParser#parseAll(java.util.Collection)} call, telling whether a
+ * slow batch is caused by a few huge files or by a general degradation
+ *
+ * @param documents files given to the batch
+ * @param failedDocuments files with any error, including those that could not be read
+ * @param bytes bytes read from all the files
+ * @param lines lines read from all the files
+ * @param wallNanos elapsed time of the batch
+ * @param cpuNanos CPU time of the parsing thread during the batch, or {@code -1} if the JVM
+ *                 does not measure it
+ * @param slowest metrics of the slowest files, slowest first
+ * @param errors error count of each failed file
+ * @param latencies parse time of each file, in nanoseconds
+ * @param throughputs parse speed of each non-empty file, in bytes per second
+ */
+public record BatchReport(
+    int documents,
+    int failedDocuments,
+    long bytes,
+    long lines,
+    long wallNanos,
+    long cpuNanos,
+    List<ParseMetrics> slowest,
+    Map<Path, Integer> errors,
+    Histogram latencies,
+    Histogram throughputs
+) {
+
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 100};
+
+
+    static BatchReport of(BatchResult batch, int slowestCount) {
+        var latencies = new Histogram();
+        var throughputs = new Histogram();
+        long bytes = 0;
+        long lines = 0;
+        for (ParseMetrics metrics : batch.metrics()) {
+            bytes += Math.max(metrics.bytes(), 0);
+            lines += metrics.lines();
+            latencies.record(metrics.totalNanos());
+            if (metrics.bytes() > 0 && metrics.totalNanos() > 0) {
+                throughputs.record((long) (metrics.bytes() * 1e9 / metrics.totalNanos()));
+            }
+        }
+        List<ParseMetrics> slowest = batch.metrics().stream()
+            .sorted(Comparator.comparingLong(ParseMetrics::totalNanos).reversed())
+            .limit(slowestCount)
+            .toList();
+        Map<Path, Integer> errors = new LinkedHashMap<>();
+        batch.failures().forEach((path, result) -> errors.put(path, result.errors().size()));
+        return new BatchReport(
+            batch.documents(),
+            errors.size(),
+            bytes,
+            lines,
+            batch.wallNanos(),
+            batch.cpuNanos(),
+            slowest,
+            errors,
+            latencies,
+            throughputs
+        );
+    }
+
+
+    public BatchReport {
+        slowest = List.copyOf(slowest);
+        errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+
+    public double bytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+
+    public double linesPerSecond() {
+        return perSecond(lines);
+    }
+
+
+    public double documentsPerSecond() {
+        return perSecond(documents);
+    }
+
+
+    /** A human-readable report, with the percentiles of both histograms */
+    @Override
+    public String toString() {
+        var report = new StringBuilder();
+        report.append("%d documents (%d failed), %d bytes, %d lines%n".formatted(documents, failedDocuments, bytes, lines));
+        report.append("wall time %.1f ms, cpu time %s%n".formatted(
+            wallNanos / 1e6, cpuNanos < 0 ? "n/a" : "%.1f ms".formatted(cpuNanos / 1e6)
+        ));
+        report.append("throughput %.2f MB/s, %.0f lines/s, %.1f documents/s%n".formatted(
+            bytesPerSecond() / 1e6, linesPerSecond(), documentsPerSecond()
+        ));
+        report.append("%10s %16s %16s%n".formatted("percentile", "latency (us)", "speed (MB/s)"));
+        for (double percentile : PERCENTILES) {
+            report.append("%10s %16.1f %16.2f%n".formatted(
+                percentile + "%",
+                latencies.percentile(percentile) / 1e3,
+                // the slowest files are the ones at the low end of the speed histogram
+                throughputs.percentile(100 - percentile) / 1e6
+            ));
+        }
+        report.append("slowest documents:\n");
+        slowest.forEach(it -> report.append("  %12.1f us %10d bytes  %s%n".formatted(
+            it.totalNanos() / 1e3, it.bytes(), it.source()
+        )));
+        if (!errors.isEmpty()) {
+            report.append("failed documents:\n");
+            errors.forEach((path, count) -> report.append("  %4d errors  %s%n".formatted(count, path)));
+        }
+        return report.toString();
+    }
+
+
+    private double perSecond(long amount) {
+        return wallNanos == 0 ? 0 : amount * 1e9 / wallNanos;
+    }
+
+}
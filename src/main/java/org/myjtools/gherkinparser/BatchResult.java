@@ -0,0 +1,60 @@
+package org.myjtools.gherkinparser;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Outcome of {@link GherkinParser#parseAll(java.util.Collection)}
+ *
+ * @param results the result of each file, in the same order they were given
+ * @param metrics the metrics of each file that could be read, in the same order
+ * @param wallNanos elapsed time of the batch
+ * @param cpuNanos CPU time of the parsing thread during the batch, or {@code -1} if the JVM
+ *                 does not measure it
+ */
+public record BatchResult(Map<Path, ParseResult> results, List<ParseMetrics> metrics, long wallNanos, long cpuNanos) {
+
+    public BatchResult {
+        results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+        metrics = List.copyOf(metrics);
+    }
+
+
+    public int documents() {
+        return results.size();
+    }
+
+
+    /** Files with any error, including those that could not be read */
+    public Map<Path, ParseResult> failures() {
+        var failures = new LinkedHashMap<Path, ParseResult>();
+        results.forEach((path, result) -> {
+            if (result.hasErrors()) {
+                failures.put(path, result);
+            }
+        });
+        return failures;
+    }
+
+
+    public int errorCount() {
+        return results.values().stream().mapToInt(it -> it.errors().size()).sum();
+    }
+
+
+    /** Summary of the batch, listing the ten slowest files */
+    public BatchReport report() {
+        return report(10);
+    }
+
+
+    /** Summary of the batch, listing the given number of slowest files */
+    public BatchReport report(int slowest) {
+        return BatchReport.of(this, slowest);
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.myjtools.gherkinparser;
+
+
+/**
+ * How the parser reacts to syntax errors, see {@link ParseOptions.Builder#errorMode(ErrorMode)}
+ */
+public enum ErrorMode {
+
+    /** Stop at the first error */
+    FAIL_FAST,
+
+    /** Keep parsing until {@link ParseOptions#maxErrors()} errors have been found */
+    COLLECT_N,
+
+    /** Parse the whole document, reporting every error */
+    COLLECT_ALL
+
+}
@@ -1,23 +1,39 @@
 package org.myjtools.gherkinparser;
 
-import java.util.Collection;
+import org.myjtools.gherkinparser.internal.PrecompiledKeywordMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class GherkinDialect {
 
 
     private final Locale locale;
     private final Map<KeywordType, List<String>> flattenedKeywordMap;
+    private final Map<KeywordType, List<String>> longestFirstKeywordMap;
 
 
     GherkinDialect(Locale locale, KeywordMap keywordMap) {
         this.locale = locale;
-        this.flattenedKeywordMap = Stream.of(KeywordType.values())
-            .collect(Collectors.toMap(it -> it, it -> computeKeywords(keywordMap, it)));
+        this.flattenedKeywordMap = new EnumMap<>(KeywordType.class);
+        this.longestFirstKeywordMap = new EnumMap<>(KeywordType.class);
+        for (KeywordType type : KeywordType.values()) {
+            if (keywordMap instanceof PrecompiledKeywordMap precompiled) {
+                // bundled dialects are flattened and sorted at build time
+                flattenedKeywordMap.put(type, precompiled.keywords(type));
+                longestFirstKeywordMap.put(type, precompiled.keywordsLongestFirst(type));
+            } else {
+                List<String> keywords = computeKeywords(keywordMap, type);
+                List<String> longestFirst = new ArrayList<>(keywords);
+                longestFirst.sort(Comparator.comparingInt(String::length).reversed());
+                flattenedKeywordMap.put(type, keywords);
+                longestFirstKeywordMap.put(type, List.copyOf(longestFirst));
+            }
+        }
     }
 
 
@@ -31,11 +47,21 @@ public class GherkinDialect {
     }
 
 
+    /**
+     * The keywords of the given type sorted by decreasing length, the order in which they must
+     * be tried when matching a line
+     */
+    public List<String> keywordsLongestFirst(KeywordType type) {
+        return longestFirstKeywordMap.getOrDefault(type, List.of());
+    }
+
+
     private static List<String> computeKeywords(KeywordMap keywordMap, KeywordType keywordType) {
-        return keywordType.flattened()
-            .map(keywordMap::keywords)
-            .flatMap(Collection::stream)
-            .toList();
+        List<String> keywords = new ArrayList<>();
+        for (KeywordType type : keywordType.flattened()) {
+            keywords.addAll(keywordMap.keywords(type));
+        }
+        return List.copyOf(keywords);
     }
 
 
@@ -1,14 +1,22 @@
 package org.myjtools.gherkinparser;
 
 
-import java.util.HashMap;
+import org.myjtools.gherkinparser.internal.DialectCompilationEvent;
+import org.myjtools.gherkinparser.internal.DialectLookupEvent;
+import org.myjtools.gherkinparser.internal.JfrEvents;
+
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
+/**
+ * Resolves the dialects of a keyword map provider, keeping them once resolved. Instances are
+ * thread-safe and meant to be shared, so each dialect is only built once per provider.
+ */
 public class GherkinDialectFactory {
 
-    private static final Map<Locale, GherkinDialect> dialectCache = new HashMap<>();
+    private final Map<Locale, GherkinDialect> dialectCache = new ConcurrentHashMap<>();
 
     private final KeywordMapProvider keywordMapProvider;
     private final GherkinDialect defaultDialect;
@@ -28,19 +36,48 @@ public class GherkinDialectFactory {
 
 
     public GherkinDialect dialectFor(Locale locale) {
-        return dialectCache.computeIfAbsent(locale, this::readDialectFor);
+        var event = JfrEvents.available() ? new DialectLookupEvent() : null;
+        if (event == null || !event.isEnabled()) {
+            return dialectCache.computeIfAbsent(locale, this::readDialectFor);
+        }
+        event.begin();
+        GherkinDialect dialect = dialectCache.get(locale);
+        event.hit = dialect != null;
+        if (dialect == null) {
+            dialect = dialectCache.computeIfAbsent(locale, this::readDialectFor);
+        }
+        event.language = locale.toLanguageTag();
+        event.commit();
+        return dialect;
     }
 
 
     private GherkinDialect readDialectFor(Locale locale) {
         return keywordMapProvider.keywordMap(locale)
-            .map(it -> new GherkinDialect(locale, it))
+            .map(it -> newDialect(locale, it))
             .orElseGet(() -> keywordMapProvider.keywordMap(defaultLocale)
-                .map(defaultKeywords -> new GherkinDialect(locale, defaultKeywords))
+                .map(defaultKeywords -> newDialect(locale, defaultKeywords))
                 .orElse(defaultDialect));
     }
 
 
+    private GherkinDialect newDialect(Locale locale, KeywordMap keywordMap) {
+        if (!JfrEvents.available()) {
+            return new GherkinDialect(locale, keywordMap);
+        }
+        var event = new DialectCompilationEvent();
+        event.begin();
+        var dialect = new GherkinDialect(locale, keywordMap);
+        if (event.shouldCommit()) {
+            event.language = locale.toLanguageTag();
+            event.provider = keywordMapProvider.getClass();
+            event.keywords = dialect.keywords(KeywordType.ALL).size();
+            event.commit();
+        }
+        return dialect;
+    }
+
+
     public GherkinDialect defaultDialect() {
         return this.defaultDialect;
     }
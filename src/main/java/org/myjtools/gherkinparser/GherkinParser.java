@@ -1,29 +1,75 @@
 package org.myjtools.gherkinparser;
 
 
+import org.myjtools.gherkinparser.elements.FeatureHeader;
 import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.myjtools.gherkinparser.elements.StructuralSharing;
 import org.myjtools.gherkinparser.internal.AggregateKeywordMapProvider;
+import org.myjtools.gherkinparser.internal.BatchParseEvent;
+import org.myjtools.gherkinparser.internal.JfrEvents;
 import org.myjtools.gherkinparser.internal.Parser;
+import org.myjtools.gherkinparser.internal.ThreadCpuTime;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class GherkinParser {
 
     private final Parser parser;
+    private final ParseOptions options;
 
     public GherkinParser(KeywordMapProvider keywordMapProvider) {
-        this.parser = new Parser(keywordMapProvider);
+        this(keywordMapProvider, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a parser that canonicalizes tag names and table cell values through the given
+     * interner, which can be shared among parsers
+     */
+    public GherkinParser(KeywordMapProvider keywordMapProvider, StringInterner interner) {
+        this(keywordMapProvider, ParseOptions.builder().interner(interner).build());
+    }
+
+    /**
+     * Creates a parser that, in addition to interning strings, shares the steps, step
+     * arguments, comments and tags that are repeated among the parsed documents. Useful when
+     * many documents are kept in memory.
+     */
+    public GherkinParser(KeywordMapProvider keywordMapProvider, StringInterner interner, StructuralSharing sharing) {
+        this(keywordMapProvider, ParseOptions.builder().interner(interner).structuralSharing(sharing).build());
+    }
+
+    /**
+     * Creates a parser configured with the given options, that may skip the parts of the
+     * documents not needed by the caller
+     */
+    public GherkinParser(KeywordMapProvider keywordMapProvider, ParseOptions options) {
+        this.parser = new Parser(keywordMapProvider, options);
+        this.options = options;
     }
 
     public GherkinParser(List<KeywordMapProvider> keywordMapProviders) {
-        this.parser = new Parser(new AggregateKeywordMapProvider(keywordMapProviders));
+        this(new AggregateKeywordMapProvider(keywordMapProviders));
     }
 
     public GherkinParser(KeywordMap keywordMap) {
-        this.parser = new Parser(it -> Optional.of(keywordMap));
+        this((KeywordMapProvider) it -> Optional.of(keywordMap));
+    }
+
+    /**
+     * Creates a session that keeps its token matcher, AST builder and scratch buffers among
+     * parses, for callers that parse many small documents. Sessions are not thread-safe, see
+     * {@link ParserPool} to share them among threads.
+     */
+    public ParseSession newSession() {
+        return new ParseSession(parser, options);
     }
 
     public GherkinDocument parse(Reader reader) {
@@ -34,4 +80,130 @@ public class GherkinParser {
         return parser.parse(inputStream);
     }
 
+    /**
+     * Parses the document, streaming the rows of its data tables and examples tables to the
+     * given consumer as they are read, so heap use stays bounded for huge tables. Only the first
+     * row of each table is kept in the AST: data tables keep their header row, and the
+     * {@link org.myjtools.gherkinparser.elements.Examples#tableBody()} of every examples table
+     * is empty, so {@link org.myjtools.gherkinparser.elements.ScenarioOutline#expand()} yields no
+     * scenarios. Outlines must be expanded from the streamed rows instead.
+     */
+    public GherkinDocument parse(Reader reader, TableRowConsumer tableRowConsumer) {
+        return parser.parse(reader, tableRowConsumer);
+    }
+
+    public GherkinDocument parse(InputStream inputStream, TableRowConsumer tableRowConsumer) {
+        return parser.parse(inputStream, tableRowConsumer);
+    }
+
+    /**
+     * Parses the document, returning the syntax errors found instead of throwing a
+     * {@link ParserException}. Which errors are reported depends on the {@link ErrorMode} of
+     * the {@link ParseOptions} in use.
+     */
+    public ParseResult tryParse(Reader reader) {
+        return parser.tryParse(reader);
+    }
+
+    public ParseResult tryParse(InputStream inputStream) {
+        return parser.tryParse(inputStream);
+    }
+
+    /**
+     * Parses the given file. Unlike streams and readers, the path is known, so it is reported
+     * as the source of the {@link ParseMetrics} and JFR events.
+     * @throws ParserException if the file cannot be read or is not valid
+     */
+    public GherkinDocument parse(Path path) {
+        return tryParse(path).orElseThrow();
+    }
+
+    public ParseResult tryParse(Path path) {
+        return parser.tryParse(path, null);
+    }
+
+    /**
+     * Parses the given files one after another, collecting the result and the metrics of
+     * each one, see {@link BatchResult#report()} for a summary. Files that cannot be read are
+     * reported as failed results instead of aborting the batch. A
+     * {@code org.myjtools.gherkinparser.BatchParse} JFR event with the totals is emitted at the
+     * end, besides the event of each document.
+     */
+    public BatchResult parseAll(Collection<Path> paths) {
+        var event = JfrEvents.available() ? new BatchParseEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long cpuStart = ThreadCpuTime.current();
+        long start = System.nanoTime();
+        Map<Path, ParseResult> results = new LinkedHashMap<>();
+        List<ParseMetrics> metrics = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            try {
+                results.put(path, parser.tryParse(path, metrics::add));
+            } catch (ParserException e) {
+                results.put(path, new ParseResult(null, List.of(ParseError.of(e))));
+            }
+        }
+        long cpuEnd = ThreadCpuTime.current();
+        var batch = new BatchResult(
+            results,
+            metrics,
+            System.nanoTime() - start,
+            cpuStart < 0 || cpuEnd < 0 ? -1 : cpuEnd - cpuStart
+        );
+        if (event != null && event.shouldCommit()) {
+            event.documents = batch.documents();
+            event.failedDocuments = batch.failures().size();
+            for (ParseMetrics it : metrics) {
+                event.bytes += it.bytes();
+                event.lines += it.lines();
+                event.scenarios += it.scenarios();
+            }
+            event.errors = batch.errorCount();
+            event.commit();
+        }
+        return batch;
+    }
+
+    /**
+     * Checks whether the document is valid Gherkin, running the whole grammar without building
+     * the AST
+     * @return the syntax errors found, empty if the document is valid
+     */
+    public List<ParseError> validate(Reader reader) {
+        return parser.validate(reader);
+    }
+
+    public List<ParseError> validate(InputStream inputStream) {
+        return parser.validate(inputStream);
+    }
+
+    /**
+     * Counts the scenarios, steps, examples rows and tags of the document without building
+     * the AST
+     * @throws ParserException.CompositeParserException if the document is not valid
+     */
+    public GherkinStats stats(Reader reader) {
+        return parser.stats(reader);
+    }
+
+    public GherkinStats stats(InputStream inputStream) {
+        return parser.stats(inputStream);
+    }
+
+    /**
+     * Reads the language, tags, name and description of the feature, stopping at the first
+     * background or scenario. The source is closed afterwards, so the rest of the document is
+     * never read.
+     * @return the feature header, or empty if the document has no feature
+     */
+    public Optional<FeatureHeader> probeHeader(Reader reader) {
+        return parser.probeHeader(reader);
+    }
+
+    public Optional<FeatureHeader> probeHeader(InputStream inputStream) {
+        return parser.probeHeader(inputStream);
+    }
+
 }
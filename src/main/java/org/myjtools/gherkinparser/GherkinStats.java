@@ -0,0 +1,23 @@
+package org.myjtools.gherkinparser;
+
+
+/**
+ * Element counts of a Gherkin document, as returned by {@link GherkinParser#stats(java.io.Reader)}
+ *
+ * @param features number of features (either 0 or 1)
+ * @param backgrounds number of backgrounds
+ * @param scenarios number of scenarios, not including outlines
+ * @param scenarioOutlines number of scenario outlines
+ * @param steps number of steps, including the ones of backgrounds and outlines
+ * @param examplesRows number of examples rows, not including the header rows
+ * @param tags number of tags
+ */
+public record GherkinStats(
+    int features,
+    int backgrounds,
+    int scenarios,
+    int scenarioOutlines,
+    int steps,
+    int examplesRows,
+    int tags
+) { }
@@ -0,0 +1,100 @@
+package org.myjtools.gherkinparser;
+
+
+/**
+ * Histogram of non-negative values with a bounded relative error, in the manner of
+ * HdrHistogram: values below 128 get a bucket each, and every power of two above is split in
+ * 64 linear buckets, so any recorded value is reported with an error below 1.6%. The whole
+ * {@code long} range fits in less than 4K buckets. Not thread-safe.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values cannot be recorded: " + value);
+        }
+        counts[index(value)]++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+    }
+
+
+    public long count() {
+        return count;
+    }
+
+
+    /** The lowest value recorded, or {@code 0} if the histogram is empty */
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+
+    public long max() {
+        return max;
+    }
+
+
+    public double mean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+
+    /**
+     * The value below which the given percentage of the recorded values fall, or {@code 0} if
+     * the histogram is empty. Values are reported as the upper bound of their bucket, except
+     * for the 0th and 100th percentiles, which are exact.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (count == 0 || percentile == 0) {
+            return min();
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long accumulated = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            accumulated += counts[index];
+            if (accumulated >= rank) {
+                return Math.max(min, Math.min(max, upperBound(index)));
+            }
+        }
+        return max;
+    }
+
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) ((value >>> shift) - HALF_SUB_BUCKETS);
+    }
+
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        long upper = ((subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+}
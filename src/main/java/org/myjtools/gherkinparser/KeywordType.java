@@ -1,6 +1,10 @@
 package org.myjtools.gherkinparser;
 
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 public enum KeywordType {
     FEATURE("feature"),
@@ -17,8 +21,17 @@ public enum KeywordType {
     SCENARIO_DEFINITION(BACKGROUND, SCENARIO, SCENARIO_OUTLINE),
     ALL(FEATURE, SCENARIO_DEFINITION, STEP, EXAMPLES);
 
+    private static final Map<String, KeywordType> BY_KEY = new HashMap<>();
+
+    static {
+        for (KeywordType type : values()) {
+            BY_KEY.put(type.key, type);
+        }
+    }
+
     private final String key;
     private final KeywordType[] includedTypes;
+    private List<KeywordType> flattened;
 
 
     KeywordType(KeywordType... includedTypes) {
@@ -38,18 +51,28 @@ public enum KeywordType {
     }
 
 
-    Stream<KeywordType> flattened() {
-        return includedTypes.length == 0 ?
-            Stream.of(this) :
-            Stream.of(includedTypes).flatMap(KeywordType::flattened);
+    /** The simple types included in this one, or itself if it is a simple type */
+    List<KeywordType> flattened() {
+        if (flattened == null) {
+            List<KeywordType> types = new ArrayList<>();
+            if (includedTypes.length == 0) {
+                types.add(this);
+            }
+            for (KeywordType includedType : includedTypes) {
+                types.addAll(includedType.flattened());
+            }
+            flattened = List.copyOf(types);
+        }
+        return flattened;
     }
 
 
     public static KeywordType of(String value) {
-        return Stream.of(KeywordType.values())
-            .filter(it->it.key.equals(value))
-            .findAny()
-            .orElseThrow();
+        KeywordType type = BY_KEY.get(value);
+        if (type == null) {
+            throw new NoSuchElementException("Unknown keyword type: " + value);
+        }
+        return type;
     }
 
 }
@@ -0,0 +1,95 @@
+package org.myjtools.gherkinparser;
+
+import org.myjtools.gherkinparser.elements.Location;
+import org.myjtools.gherkinparser.internal.AstBuilderException;
+import org.myjtools.gherkinparser.internal.UnexpectedEOFException;
+import org.myjtools.gherkinparser.internal.UnexpectedTokenException;
+
+import java.util.List;
+
+
+/**
+ * A syntax error found while parsing a document. Errors are plain values: they keep the data
+ * needed to describe the problem, and the message is only formatted when {@link #message()} is
+ * invoked.
+ *
+ * @param kind the kind of error
+ * @param location where the error was found
+ * @param expectedTokens the token types accepted at that point, for unexpected tokens and
+ *                       unexpected end of file
+ * @param text the offending source line for unexpected tokens, or the description of the problem
+ *             for invalid contents
+ */
+public record ParseError(
+    Kind kind,
+    Location location,
+    List<String> expectedTokens,
+    String text
+) {
+
+    public enum Kind {
+        UNEXPECTED_TOKEN,
+        UNEXPECTED_EOF,
+        INVALID_CONTENT
+    }
+
+
+    public static ParseError unexpectedToken(Location location, List<String> expectedTokens, String line) {
+        return new ParseError(Kind.UNEXPECTED_TOKEN, location, expectedTokens, line);
+    }
+
+
+    public static ParseError unexpectedEOF(Location location, List<String> expectedTokens) {
+        return new ParseError(Kind.UNEXPECTED_EOF, location, expectedTokens, null);
+    }
+
+
+    public static ParseError invalidContent(Location location, String description) {
+        return new ParseError(Kind.INVALID_CONTENT, location, List.of(), description);
+    }
+
+
+    /**
+     * The error reported by the given exception. The cause of the exception, such as the
+     * {@code IOException} of a file that cannot be read, is kept in the description.
+     */
+    public static ParseError of(ParserException exception) {
+        if (exception instanceof UnexpectedTokenException unexpectedToken) {
+            return unexpectedToken.parseError();
+        }
+        if (exception instanceof UnexpectedEOFException unexpectedEOF) {
+            return unexpectedEOF.parseError();
+        }
+        Throwable cause = exception.getCause();
+        String description = cause == null ?
+            exception.getDescription() :
+            exception.getDescription() + " (" + cause.getClass().getSimpleName() + ": " + cause.getMessage() + ")";
+        return invalidContent(exception.getLocation(), description);
+    }
+
+
+    public String message() {
+        return switch (kind) {
+            case UNEXPECTED_TOKEN -> "expected: " + String.join(", ", expectedTokens) + ", got '" + text.trim() + "'";
+            case UNEXPECTED_EOF -> "unexpected end of file, expected: " + String.join(", ", expectedTokens);
+            case INVALID_CONTENT -> text;
+        };
+    }
+
+
+    /** The equivalent exception, as thrown by {@link GherkinParser#parse(java.io.Reader)} */
+    public ParserException toException() {
+        return switch (kind) {
+            case UNEXPECTED_TOKEN -> new UnexpectedTokenException(this);
+            case UNEXPECTED_EOF -> new UnexpectedEOFException(this);
+            case INVALID_CONTENT -> new AstBuilderException(text, location);
+        };
+    }
+
+
+    @Override
+    public String toString() {
+        return location == null ? message() : ParserException.format(message(), location);
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.myjtools.gherkinparser;
+
+
+/**
+ * Receives the metrics of every document run through the grammar by a parser, including
+ * {@code validate()} and {@code stats()}. Registered with
+ * {@link ParseOptions.Builder#listener(ParseListener)}; parsers without a listener do not
+ * measure anything, unless the {@code org.myjtools.gherkinparser.DocumentParse} JFR event is
+ * enabled.
+ * <p>
+ * Listeners are invoked from the parsing thread, so a listener shared by concurrent parsers
+ * must be thread-safe.
+ */
+public interface ParseListener {
+
+    /** Invoked before the first line of a document is read */
+    default void parseStarted() { }
+
+    /** Invoked once the document has been parsed, either successfully or not */
+    void parseFinished(ParseMetrics metrics);
+
+}
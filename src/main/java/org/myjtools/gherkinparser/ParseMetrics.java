@@ -0,0 +1,40 @@
+package org.myjtools.gherkinparser;
+
+
+/**
+ * Metrics of a single parse, as reported to a {@link ParseListener}. The time spent matching
+ * is the total time minus the time spent scanning and building, that is, the time of the
+ * grammar state machine and the token matcher.
+ *
+ * @param source path of the parsed file, or {@code null} if the source was a stream or a reader
+ * @param bytes bytes read from the source, or {@code -1} if the source was not an input stream
+ * @param lines lines read from the source
+ * @param language language of the document, as declared in its header or the default one
+ * @param scenarios scenarios and scenario outlines found
+ * @param errors syntax errors found, or {@code 1} if the parse was aborted by an exception
+ * @param scanNanos time spent reading and splitting the source in lines
+ * @param matchNanos time spent matching the lines against the grammar
+ * @param buildNanos time spent in the AST builder
+ * @param totalNanos total time of the parse
+ * @param stateMachine profile of the grammar state machine, or {@code null} unless enabled with
+ *                     {@link ParseOptions.Builder#profileStateMachine(boolean)}
+ */
+public record ParseMetrics(
+    String source,
+    long bytes,
+    int lines,
+    String language,
+    int scenarios,
+    int errors,
+    long scanNanos,
+    long matchNanos,
+    long buildNanos,
+    long totalNanos,
+    StateMachineProfile stateMachine
+) {
+
+    public boolean failed() {
+        return errors > 0;
+    }
+
+}
@@ -0,0 +1,310 @@
+package org.myjtools.gherkinparser;
+
+import org.myjtools.gherkinparser.elements.StructuralSharing;
+
+import java.util.Objects;
+
+
+/**
+ * Settings that control which parts of a document are materialized by a {@link GherkinParser}.
+ * <p>
+ * By default every part of the document is retained. Consumers that only need the structure of
+ * the documents, such as test discovery, can switch off the parts they do not use so the parser
+ * does not even create them:
+ * <pre>
+ * ParseOptions options = ParseOptions.builder()
+ *     .retainComments(false)
+ *     .retainDescriptions(false)
+ *     .retainStepArguments(false)
+ *     .build();
+ * </pre>
+ */
+public final class ParseOptions {
+
+    private static final ParseOptions DEFAULTS = builder().build();
+
+    private final boolean retainComments;
+    private final boolean retainDescriptions;
+    private final boolean retainLocations;
+    private final boolean retainStepArguments;
+    private final boolean retainExamplesBody;
+    private final ErrorMode errorMode;
+    private final int maxErrors;
+    private final ResourceLimits resourceLimits;
+    private final StringInterner interner;
+    private final StructuralSharing structuralSharing;
+    private final ParseListener listener;
+    private final boolean profileStateMachine;
+    private final int stateMachineTraceSize;
+
+
+    private ParseOptions(Builder builder) {
+        this.retainComments = builder.retainComments;
+        this.retainDescriptions = builder.retainDescriptions;
+        this.retainLocations = builder.retainLocations;
+        this.retainStepArguments = builder.retainStepArguments;
+        this.retainExamplesBody = builder.retainExamplesBody;
+        this.errorMode = builder.errorMode;
+        this.maxErrors = builder.maxErrors;
+        this.resourceLimits = builder.resourceLimits;
+        this.interner = builder.interner;
+        this.structuralSharing = builder.structuralSharing;
+        this.listener = builder.listener;
+        this.profileStateMachine = builder.profileStateMachine;
+        this.stateMachineTraceSize = builder.stateMachineTraceSize;
+    }
+
+
+    /** Options retaining every part of the document, without interning nor sharing */
+    public static ParseOptions defaults() {
+        return DEFAULTS;
+    }
+
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    /** Builder initialized with the values of these options */
+    public Builder toBuilder() {
+        return new Builder()
+            .retainComments(retainComments)
+            .retainDescriptions(retainDescriptions)
+            .retainLocations(retainLocations)
+            .retainStepArguments(retainStepArguments)
+            .retainExamplesBody(retainExamplesBody)
+            .errorMode(errorMode)
+            .maxErrors(maxErrors)
+            .resourceLimits(resourceLimits)
+            .interner(interner)
+            .structuralSharing(structuralSharing)
+            .listener(listener)
+            .profileStateMachine(profileStateMachine)
+            .stateMachineTraceSize(stateMachineTraceSize);
+    }
+
+
+    public boolean retainComments() {
+        return retainComments;
+    }
+
+
+    public boolean retainDescriptions() {
+        return retainDescriptions;
+    }
+
+
+    public boolean retainLocations() {
+        return retainLocations;
+    }
+
+
+    public boolean retainStepArguments() {
+        return retainStepArguments;
+    }
+
+
+    public boolean retainExamplesBody() {
+        return retainExamplesBody;
+    }
+
+
+    public ErrorMode errorMode() {
+        return errorMode;
+    }
+
+
+    /** Number of errors after which the parser stops, when using {@link ErrorMode#COLLECT_N} */
+    public int maxErrors() {
+        return maxErrors;
+    }
+
+
+    public ResourceLimits resourceLimits() {
+        return resourceLimits;
+    }
+
+
+    public StringInterner interner() {
+        return interner;
+    }
+
+
+    /** The structural sharing table, or {@code null} if it is disabled */
+    public StructuralSharing structuralSharing() {
+        return structuralSharing;
+    }
+
+
+    /** The listener receiving the metrics of every parse, or {@code null} if there is none */
+    public ParseListener listener() {
+        return listener;
+    }
+
+
+    public boolean profileStateMachine() {
+        return profileStateMachine;
+    }
+
+
+    public int stateMachineTraceSize() {
+        return stateMachineTraceSize;
+    }
+
+
+    @Override
+    public String toString() {
+        return "ParseOptions[retainComments=" + retainComments +
+            ", retainDescriptions=" + retainDescriptions +
+            ", retainLocations=" + retainLocations +
+            ", retainStepArguments=" + retainStepArguments +
+            ", retainExamplesBody=" + retainExamplesBody +
+            ", errorMode=" + errorMode +
+            (errorMode == ErrorMode.COLLECT_N ? ", maxErrors=" + maxErrors : "") +
+            ", resourceLimits=" + resourceLimits +
+            "]";
+    }
+
+
+    public static final class Builder {
+
+        private boolean retainComments = true;
+        private boolean retainDescriptions = true;
+        private boolean retainLocations = true;
+        private boolean retainStepArguments = true;
+        private boolean retainExamplesBody = true;
+        private ErrorMode errorMode = ErrorMode.COLLECT_N;
+        private int maxErrors = 10;
+        private ResourceLimits resourceLimits = ResourceLimits.unlimited();
+        private StringInterner interner = StringInterner.none();
+        private StructuralSharing structuralSharing;
+        private ParseListener listener;
+        private boolean profileStateMachine;
+        private int stateMachineTraceSize = 32;
+
+
+        private Builder() { }
+
+
+        /** When off, every node has an empty comment list */
+        public Builder retainComments(boolean retainComments) {
+            this.retainComments = retainComments;
+            return this;
+        }
+
+
+        /** When off, features, scenarios and examples have an empty description */
+        public Builder retainDescriptions(boolean retainDescriptions) {
+            this.retainDescriptions = retainDescriptions;
+            return this;
+        }
+
+
+        /**
+         * When off, locations only keep the line number, and the column of every node is
+         * {@code 0}. Nodes that only differ in their columns become equal, which also makes
+         * structural sharing more effective.
+         */
+        public Builder retainLocations(boolean retainLocations) {
+            this.retainLocations = retainLocations;
+            return this;
+        }
+
+
+        /**
+         * When off, steps have no {@code DataTable} nor {@code DocString} argument. The rows of
+         * data tables are still checked for a consistent cell count, and still streamed to the
+         * {@link TableRowConsumer}, if one is given.
+         */
+        public Builder retainStepArguments(boolean retainStepArguments) {
+            this.retainStepArguments = retainStepArguments;
+            return this;
+        }
+
+
+        /**
+         * When off, examples only keep their header row. The cell count of the discarded rows
+         * is still checked, and {@code ColumnarTable.totalRowCount()} reports the source size.
+         */
+        public Builder retainExamplesBody(boolean retainExamplesBody) {
+            this.retainExamplesBody = retainExamplesBody;
+            return this;
+        }
+
+
+        /** How syntax errors are handled, {@link ErrorMode#COLLECT_N} by default */
+        public Builder errorMode(ErrorMode errorMode) {
+            this.errorMode = Objects.requireNonNull(errorMode, "errorMode cannot be null");
+            return this;
+        }
+
+
+        /** Errors collected before stopping in {@link ErrorMode#COLLECT_N} mode, 10 by default */
+        public Builder maxErrors(int maxErrors) {
+            if (maxErrors < 1) {
+                throw new IllegalArgumentException("maxErrors must be positive");
+            }
+            this.maxErrors = maxErrors;
+            return this;
+        }
+
+
+        /** Limits checked while parsing, {@link ResourceLimits#unlimited()} by default */
+        public Builder resourceLimits(ResourceLimits resourceLimits) {
+            this.resourceLimits = Objects.requireNonNull(resourceLimits, "resourceLimits cannot be null");
+            return this;
+        }
+
+
+        public Builder interner(StringInterner interner) {
+            this.interner = Objects.requireNonNull(interner, "interner cannot be null");
+            return this;
+        }
+
+
+        /** Sharing table for repeated subtrees, or {@code null} to disable structural sharing */
+        public Builder structuralSharing(StructuralSharing structuralSharing) {
+            this.structuralSharing = structuralSharing;
+            return this;
+        }
+
+
+        /**
+         * Listener receiving the size, language, errors and phase timings of every parse, or
+         * {@code null} to disable the measures
+         */
+        public Builder listener(ParseListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+
+        /**
+         * When on, the grammar state machine is profiled and its {@link StateMachineProfile} is
+         * reported in the metrics received by the listener. Off by default; it has no effect
+         * without a listener.
+         */
+        public Builder profileStateMachine(boolean profileStateMachine) {
+            this.profileStateMachine = profileStateMachine;
+            return this;
+        }
+
+
+        /** Transitions kept in the trace of a {@link StateMachineProfile}, 32 by default */
+        public Builder stateMachineTraceSize(int stateMachineTraceSize) {
+            if (stateMachineTraceSize < 0) {
+                throw new IllegalArgumentException("stateMachineTraceSize cannot be negative");
+            }
+            this.stateMachineTraceSize = stateMachineTraceSize;
+            return this;
+        }
+
+
+        public ParseOptions build() {
+            return new ParseOptions(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.myjtools.gherkinparser;
+
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+
+import java.util.List;
+
+
+/**
+ * Outcome of {@link GherkinParser#tryParse(java.io.Reader)}
+ *
+ * @param document the parsed document, or {@code null} if any error was found
+ * @param errors the errors found, according to the {@link ErrorMode} in use
+ */
+public record ParseResult(GherkinDocument document, List<ParseError> errors) {
+
+    public ParseResult {
+        errors = List.copyOf(errors);
+    }
+
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+
+    /**
+     * @return the parsed document
+     * @throws ParserException.CompositeParserException if any error was found
+     */
+    public GherkinDocument orElseThrow() {
+        if (hasErrors()) {
+            throw ParserException.CompositeParserException.of(errors);
+        }
+        return document;
+    }
+
+}
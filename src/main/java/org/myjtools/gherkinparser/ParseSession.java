@@ -0,0 +1,137 @@
+package org.myjtools.gherkinparser;
+
+
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.myjtools.gherkinparser.internal.GherkinAstBuilder;
+import org.myjtools.gherkinparser.internal.Parser;
+import org.myjtools.gherkinparser.internal.Token;
+import org.myjtools.gherkinparser.internal.TokenMatcher;
+import org.myjtools.gherkinparser.internal.TokenScanner;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+
+/**
+ * A reusable parsing context, created with {@link GherkinParser#newSession()}. The token matcher
+ * (with its resolved dialects), the AST builder and the scratch collections are created once
+ * and reset between parses, which makes a difference when parsing small documents at a high
+ * rate. Documents given as a {@code String} are also split in lines without copying them to
+ * an intermediate buffer.
+ * <p>
+ * A session is not thread-safe; use one per thread, or a {@link ParserPool}.
+ */
+public final class ParseSession {
+
+    /**
+     * Counters of the parses performed by a session
+     *
+     * @param parses number of parses
+     * @param failedParses number of parses that found errors
+     * @param lines number of lines read
+     * @param nanos total time spent parsing, in nanoseconds
+     */
+    public record Statistics(long parses, long failedParses, long lines, long nanos) {
+
+        public static final Statistics EMPTY = new Statistics(0, 0, 0, 0);
+
+        public long averageNanos() {
+            return parses == 0 ? 0 : nanos / parses;
+        }
+
+        public Statistics plus(Statistics other) {
+            return new Statistics(
+                parses + other.parses,
+                failedParses + other.failedParses,
+                lines + other.lines,
+                nanos + other.nanos
+            );
+        }
+    }
+
+
+    private final Parser parser;
+    private final ResourceLimits limits;
+    private final TokenMatcher tokenMatcher;
+    private final GherkinAstBuilder builder;
+    private final Queue<Token> tokenQueue = new ArrayDeque<>();
+    private final List<ParseError> errors = new ArrayList<>();
+    private long parses;
+    private long failedParses;
+    private long lines;
+    private long nanos;
+
+
+    ParseSession(Parser parser, ParseOptions options) {
+        this.parser = parser;
+        this.limits = options.resourceLimits();
+        this.tokenMatcher = parser.newTokenMatcher();
+        this.builder = new GherkinAstBuilder(options);
+    }
+
+
+    public GherkinDocument parse(String source) {
+        return tryParse(source).orElseThrow();
+    }
+
+
+    public GherkinDocument parse(Reader reader) {
+        return tryParse(reader).orElseThrow();
+    }
+
+
+    public GherkinDocument parse(InputStream inputStream) {
+        return tryParse(inputStream).orElseThrow();
+    }
+
+
+    public ParseResult tryParse(String source) {
+        return tryParse(new TokenScanner(source, limits));
+    }
+
+
+    public ParseResult tryParse(Reader reader) {
+        return tryParse(new TokenScanner(reader, limits));
+    }
+
+
+    public ParseResult tryParse(InputStream inputStream) {
+        return tryParse(parser.newTokenScanner(inputStream));
+    }
+
+
+    private ParseResult tryParse(TokenScanner tokenScanner) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            GherkinDocument document = parser.run(builder, tokenScanner, tokenMatcher, errors, tokenQueue);
+            failed = !errors.isEmpty();
+            return new ParseResult(document, errors);
+        } finally {
+            parses++;
+            if (failed) {
+                failedParses++;
+            }
+            lines += tokenScanner.linesRead();
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+
+    public Statistics statistics() {
+        return new Statistics(parses, failedParses, lines, nanos);
+    }
+
+
+    public void resetStatistics() {
+        parses = 0;
+        failedParses = 0;
+        lines = 0;
+        nanos = 0;
+    }
+
+}
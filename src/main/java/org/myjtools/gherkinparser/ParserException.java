@@ -4,6 +4,7 @@ import org.myjtools.gherkinparser.elements.Location;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class ParserException extends RuntimeException {
@@ -22,7 +23,16 @@ public class ParserException extends RuntimeException {
     }
 
     protected ParserException(String message, Location location) {
-        super(getMessage(message, location));
+        super(message);
+        this.location = location;
+    }
+
+    /**
+     * Creates an exception without stack trace, for errors that are expected to happen as part
+     * of the regular parsing of invalid documents
+     */
+    protected ParserException(String message, Location location, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
         this.location = location;
     }
 
@@ -30,27 +40,67 @@ public class ParserException extends RuntimeException {
         return location;
     }
 
-    private static String getMessage(String message, Location location) {
-        return String.format("(%s:%s): %s", location.line(), location.column(), message);
+    /** The description of the error, without the location */
+    public String getDescription() {
+        return super.getMessage();
+    }
+
+    @Override
+    public String getMessage() {
+        return location == null ? super.getMessage() : format(super.getMessage(), location);
+    }
+
+    static String format(String message, Location location) {
+        return "(" + location.line() + ":" + location.column() + "): " + message;
     }
 
 
     public static class CompositeParserException extends ParserException {
 
-        private final List<ParserException> errors;
+        private final transient List<ParseError> parseErrors;
+        private List<ParserException> errors;
+        private String message;
 
         public CompositeParserException(List<ParserException> errors) {
-            super(getMessage(errors));
-            this.errors = Collections.unmodifiableList(errors);
+            this(
+                Collections.unmodifiableList(Objects.requireNonNull(errors, "errors")),
+                errors.stream().map(ParseError::of).toList()
+            );
+        }
+
+        private CompositeParserException(List<ParserException> errors, List<ParseError> parseErrors) {
+            super(null);
+            this.errors = errors;
+            this.parseErrors = parseErrors;
         }
 
-        private static String getMessage(List<ParserException> errors) {
-            if (errors == null) throw new NullPointerException("errors");
-            return errors.stream().map(Throwable::getMessage).collect(Collectors.joining("\n","Parser errors:\n",""));
+        /**
+         * Exception reporting the given errors. The message and the exception of each error are
+         * only created when they are requested.
+         */
+        public static CompositeParserException of(List<ParseError> parseErrors) {
+            return new CompositeParserException(null, List.copyOf(parseErrors));
+        }
+
+        @Override
+        public String getMessage() {
+            if (message == null) {
+                message = getErrors().stream()
+                    .map(Throwable::getMessage)
+                    .collect(Collectors.joining("\n","Parser errors:\n",""));
+            }
+            return message;
         }
 
         public List<ParserException> getErrors() {
+            if (errors == null) {
+                errors = parseErrors.stream().map(ParseError::toException).toList();
+            }
             return List.copyOf(errors);
         }
+
+        public List<ParseError> getParseErrors() {
+            return parseErrors;
+        }
     }
 }
@@ -0,0 +1,119 @@
+package org.myjtools.gherkinparser;
+
+
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+/**
+ * Thread-safe pool of {@link ParseSession}s. Each parse borrows an idle session, or creates one
+ * if none is available, and returns it to the pool afterwards. At most {@code maxIdleSessions}
+ * sessions are kept; the statistics of the discarded ones are still accounted.
+ */
+public final class ParserPool {
+
+    private final GherkinParser parser;
+    private final int maxIdleSessions;
+    private final Queue<ParseSession> idleSessions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private ParseSession.Statistics discardedStatistics = ParseSession.Statistics.EMPTY;
+
+
+    public ParserPool(GherkinParser parser) {
+        this(parser, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    public ParserPool(GherkinParser parser, int maxIdleSessions) {
+        if (maxIdleSessions < 1) {
+            throw new IllegalArgumentException("maxIdleSessions must be positive");
+        }
+        this.parser = Objects.requireNonNull(parser, "parser cannot be null");
+        this.maxIdleSessions = maxIdleSessions;
+    }
+
+
+    public GherkinDocument parse(String source) {
+        return withSession(session -> session.parse(source));
+    }
+
+
+    public GherkinDocument parse(Reader reader) {
+        return withSession(session -> session.parse(reader));
+    }
+
+
+    public GherkinDocument parse(InputStream inputStream) {
+        return withSession(session -> session.parse(inputStream));
+    }
+
+
+    public ParseResult tryParse(String source) {
+        return withSession(session -> session.tryParse(source));
+    }
+
+
+    public ParseResult tryParse(Reader reader) {
+        return withSession(session -> session.tryParse(reader));
+    }
+
+
+    public ParseResult tryParse(InputStream inputStream) {
+        return withSession(session -> session.tryParse(inputStream));
+    }
+
+
+    /**
+     * Aggregated statistics of the sessions of the pool, not including the parses in progress
+     */
+    public ParseSession.Statistics statistics() {
+        ParseSession.Statistics statistics;
+        synchronized (this) {
+            statistics = discardedStatistics;
+        }
+        for (ParseSession session : idleSessions) {
+            synchronized (session) {
+                statistics = statistics.plus(session.statistics());
+            }
+        }
+        return statistics;
+    }
+
+
+    private <T> T withSession(Function<ParseSession, T> action) {
+        ParseSession session = idleSessions.poll();
+        if (session == null) {
+            session = parser.newSession();
+        } else {
+            idleCount.decrementAndGet();
+        }
+        try {
+            // the lock is never contended, it only publishes the session state to other threads
+            synchronized (session) {
+                return action.apply(session);
+            }
+        } finally {
+            release(session);
+        }
+    }
+
+
+    private void release(ParseSession session) {
+        if (idleCount.incrementAndGet() <= maxIdleSessions) {
+            idleSessions.offer(session);
+        } else {
+            idleCount.decrementAndGet();
+            synchronized (this) {
+                discardedStatistics = discardedStatistics.plus(session.statistics());
+            }
+        }
+    }
+
+}
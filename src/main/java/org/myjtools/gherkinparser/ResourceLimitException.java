@@ -0,0 +1,35 @@
+package org.myjtools.gherkinparser;
+
+import org.myjtools.gherkinparser.elements.Location;
+
+
+/**
+ * Thrown when a document breaks one of the configured {@link ResourceLimits}. Unlike syntax
+ * errors, it is never collected: parsing stops as soon as the limit is exceeded, even when using
+ * {@link GherkinParser#tryParse(java.io.Reader)}.
+ */
+public class ResourceLimitException extends ParserException {
+
+    private final String limit;
+    private final long value;
+
+
+    public ResourceLimitException(String limit, long value, Location location) {
+        super(limit + " exceeds the limit of " + value, location);
+        this.limit = limit;
+        this.value = value;
+    }
+
+
+    /** The name of the exceeded limit */
+    public String getLimit() {
+        return limit;
+    }
+
+
+    /** The configured value of the exceeded limit */
+    public long getValue() {
+        return value;
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.myjtools.gherkinparser;
+
+
+/**
+ * Upper bounds on the size of the parsed documents, for services that parse untrusted or
+ * generated input. Limits are checked while the source is read, so a document breaking any of
+ * them fails with a {@link ResourceLimitException} before it is fully loaded in memory.
+ * <p>
+ * Sizes are measured in characters. Every limit is unbounded unless stated otherwise.
+ */
+public final class ResourceLimits {
+
+    private static final ResourceLimits UNLIMITED = builder().build();
+
+    private static final ResourceLimits UNTRUSTED = builder()
+        .maxLineLength(16 * 1024)
+        .maxFileSize(8L * 1024 * 1024)
+        .maxTableCells(100_000)
+        .maxDocStringSize(1024 * 1024)
+        .maxTagsPerLine(100)
+        .maxScenariosPerFeature(10_000)
+        .build();
+
+    private final int maxLineLength;
+    private final long maxFileSize;
+    private final int maxTableCells;
+    private final int maxDocStringSize;
+    private final int maxTagsPerLine;
+    private final int maxScenariosPerFeature;
+
+
+    private ResourceLimits(Builder builder) {
+        this.maxLineLength = builder.maxLineLength;
+        this.maxFileSize = builder.maxFileSize;
+        this.maxTableCells = builder.maxTableCells;
+        this.maxDocStringSize = builder.maxDocStringSize;
+        this.maxTagsPerLine = builder.maxTagsPerLine;
+        this.maxScenariosPerFeature = builder.maxScenariosPerFeature;
+    }
+
+
+    /** No limits at all, the default */
+    public static ResourceLimits unlimited() {
+        return UNLIMITED;
+    }
+
+
+    /**
+     * Limits suited for documents of unknown origin: lines up to 16K characters, files up to
+     * 8M characters, tables up to 100,000 cells, doc strings up to 1M characters, 100 tags per
+     * line and 10,000 scenarios per feature
+     */
+    public static ResourceLimits untrusted() {
+        return UNTRUSTED;
+    }
+
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    public boolean isUnlimited() {
+        return maxLineLength == Integer.MAX_VALUE &&
+            maxFileSize == Long.MAX_VALUE &&
+            maxTableCells == Integer.MAX_VALUE &&
+            maxDocStringSize == Integer.MAX_VALUE &&
+            maxTagsPerLine == Integer.MAX_VALUE &&
+            maxScenariosPerFeature == Integer.MAX_VALUE;
+    }
+
+
+    public int maxLineLength() {
+        return maxLineLength;
+    }
+
+
+    public long maxFileSize() {
+        return maxFileSize;
+    }
+
+
+    /** Maximum number of cells of a data table or examples table, including the header */
+    public int maxTableCells() {
+        return maxTableCells;
+    }
+
+
+    public int maxDocStringSize() {
+        return maxDocStringSize;
+    }
+
+
+    public int maxTagsPerLine() {
+        return maxTagsPerLine;
+    }
+
+
+    /** Maximum number of scenarios and scenario outlines in the feature */
+    public int maxScenariosPerFeature() {
+        return maxScenariosPerFeature;
+    }
+
+
+    @Override
+    public String toString() {
+        return "ResourceLimits[maxLineLength=" + maxLineLength +
+            ", maxFileSize=" + maxFileSize +
+            ", maxTableCells=" + maxTableCells +
+            ", maxDocStringSize=" + maxDocStringSize +
+            ", maxTagsPerLine=" + maxTagsPerLine +
+            ", maxScenariosPerFeature=" + maxScenariosPerFeature +
+            "]";
+    }
+
+
+    public static final class Builder {
+
+        private int maxLineLength = Integer.MAX_VALUE;
+        private long maxFileSize = Long.MAX_VALUE;
+        private int maxTableCells = Integer.MAX_VALUE;
+        private int maxDocStringSize = Integer.MAX_VALUE;
+        private int maxTagsPerLine = Integer.MAX_VALUE;
+        private int maxScenariosPerFeature = Integer.MAX_VALUE;
+
+
+        private Builder() { }
+
+
+        public Builder maxLineLength(int maxLineLength) {
+            this.maxLineLength = positive(maxLineLength, "maxLineLength");
+            return this;
+        }
+
+
+        public Builder maxFileSize(long maxFileSize) {
+            if (maxFileSize < 1) {
+                throw new IllegalArgumentException("maxFileSize must be positive");
+            }
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+
+        public Builder maxTableCells(int maxTableCells) {
+            this.maxTableCells = positive(maxTableCells, "maxTableCells");
+            return this;
+        }
+
+
+        public Builder maxDocStringSize(int maxDocStringSize) {
+            this.maxDocStringSize = positive(maxDocStringSize, "maxDocStringSize");
+            return this;
+        }
+
+
+        public Builder maxTagsPerLine(int maxTagsPerLine) {
+            this.maxTagsPerLine = positive(maxTagsPerLine, "maxTagsPerLine");
+            return this;
+        }
+
+
+        public Builder maxScenariosPerFeature(int maxScenariosPerFeature) {
+            this.maxScenariosPerFeature = positive(maxScenariosPerFeature, "maxScenariosPerFeature");
+            return this;
+        }
+
+
+        public ResourceLimits build() {
+            return new ResourceLimits(this);
+        }
+
+
+        private static int positive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package org.myjtools.gherkinparser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Counters of the grammar state machine for one or more parses: the tokens read in each
+ * state, the transitions between states, the attempts and successes of each token matcher and
+ * the lookahead invocations. It also keeps the last transitions of the parse, oldest first,
+ * useful to see the path that led to a syntax error.
+ * <p>
+ * Profiles are only collected when enabled with
+ * {@link ParseOptions.Builder#profileStateMachine(boolean)}, and are reported in the
+ * {@link ParseMetrics} received by the {@link ParseListener}. Profiles of several parses can
+ * be added up with {@link #merge(StateMachineProfile)}.
+ */
+public final class StateMachineProfile {
+
+    /**
+     * A transition of the state machine
+     * @param line line of the token that caused the transition
+     * @param token type of the token, as matched in the source state
+     */
+    public record Transition(int line, int from, int to, String token) {
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + from + " -> " + to + " on " + token;
+        }
+    }
+
+
+    private final List<String> states;
+    private final List<String> matchers;
+    private final long[] visits;
+    private final long[] transitions;
+    private final long[] attempts;
+    private final long[] successes;
+    private final long lookaheads;
+    private final List<Transition> trace;
+
+
+    /**
+     * @param states names of the states
+     * @param matchers names of the token matchers
+     * @param visits tokens read in each state
+     * @param transitions transitions between each pair of states, indexed by {@code from * states + to}
+     * @param attempts invocations of each matcher
+     * @param successes invocations of each matcher that matched the token
+     * @param lookaheads lookahead invocations
+     * @param trace last transitions, oldest first
+     */
+    public StateMachineProfile(
+        List<String> states,
+        List<String> matchers,
+        long[] visits,
+        long[] transitions,
+        long[] attempts,
+        long[] successes,
+        long lookaheads,
+        List<Transition> trace
+    ) {
+        this.states = List.copyOf(states);
+        this.matchers = List.copyOf(matchers);
+        this.visits = visits.clone();
+        this.transitions = transitions.clone();
+        this.attempts = attempts.clone();
+        this.successes = successes.clone();
+        this.lookaheads = lookaheads;
+        this.trace = List.copyOf(trace);
+    }
+
+
+    public List<String> states() {
+        return states;
+    }
+
+
+    public List<String> matchers() {
+        return matchers;
+    }
+
+
+    /** Tokens read while the machine was in the given state */
+    public long visits(int state) {
+        return visits[state];
+    }
+
+
+    public long transitions(int from, int to) {
+        return transitions[from * states.size() + to];
+    }
+
+
+    public long attempts(String matcher) {
+        return attempts[matcherIndex(matcher)];
+    }
+
+
+    public long successes(String matcher) {
+        return successes[matcherIndex(matcher)];
+    }
+
+
+    public long lookaheads() {
+        return lookaheads;
+    }
+
+
+    /** The last transitions, oldest first */
+    public List<Transition> trace() {
+        return trace;
+    }
+
+
+    /**
+     * Adds up the counters of both profiles. The trace of the given profile, which is assumed
+     * to be the latest one, is kept.
+     */
+    public StateMachineProfile merge(StateMachineProfile other) {
+        if (!states.equals(other.states) || !matchers.equals(other.matchers)) {
+            throw new IllegalArgumentException("Profiles of different state machines cannot be merged");
+        }
+        return new StateMachineProfile(
+            states,
+            matchers,
+            sum(visits, other.visits),
+            sum(transitions, other.transitions),
+            sum(attempts, other.attempts),
+            sum(successes, other.successes),
+            lookaheads + other.lookaheads,
+            other.trace
+        );
+    }
+
+
+    /**
+     * A human-readable report with the visited states and the transitions taken, most
+     * frequent first, the hit ratio of each matcher and the trace
+     */
+    public String report() {
+        var report = new StringBuilder("States:\n");
+        sortedByCount(visits).forEach(state -> report.append(
+            "  %12d  %2d %s%n".formatted(visits[state], state, states.get(state))
+        ));
+        report.append("Transitions:\n");
+        sortedByCount(transitions).forEach(index -> report.append(
+            "  %12d  %2d -> %d%n".formatted(transitions[index], index / states.size(), index % states.size())
+        ));
+        report.append("Matchers:\n");
+        sortedByCount(attempts).forEach(matcher -> report.append(
+            "  %12d  %-22s %5.1f%% matched%n".formatted(
+                attempts[matcher], matchers.get(matcher), 100.0 * successes[matcher] / attempts[matcher]
+            )
+        ));
+        report.append("Lookaheads: ").append(lookaheads).append('\n');
+        report.append("Trace:\n");
+        trace.forEach(transition -> report.append("  ").append(transition).append('\n'));
+        return report.toString();
+    }
+
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+
+    private int matcherIndex(String matcher) {
+        int index = matchers.indexOf(matcher);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown matcher " + matcher + ", expected one of " + matchers);
+        }
+        return index;
+    }
+
+
+    private static List<Integer> sortedByCount(long[] counters) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i] > 0) {
+                indexes.add(i);
+            }
+        }
+        indexes.sort(Comparator.comparingLong((Integer i) -> counters[i]).reversed());
+        return indexes;
+    }
+
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+
+}
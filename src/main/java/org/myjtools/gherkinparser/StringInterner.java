@@ -0,0 +1,36 @@
+package org.myjtools.gherkinparser;
+
+import org.myjtools.gherkinparser.internal.BoundedSlotTable;
+
+
+/**
+ * Canonicalizes the strings stored in the parsed documents (tag names and table cell values),
+ * so equal values found across many documents share a single instance. A single interner may
+ * be shared by several parsers working concurrently.
+ * <p>
+ * Step keywords do not need an interner: they are always the instances defined by the
+ * {@link GherkinDialect}.
+ */
+@FunctionalInterface
+public interface StringInterner {
+
+    String intern(String value);
+
+
+    /** Interner that returns every string as is */
+    static StringInterner none() {
+        return value -> value;
+    }
+
+
+    /**
+     * Lock-free interner holding at most {@code capacity} strings (rounded up to a power of
+     * two). Each string has two candidate slots, and when both are taken the one given by its
+     * hash is replaced, so memory is bounded while a single collision does not evict a
+     * frequent value.
+     */
+    static StringInterner bounded(int capacity) {
+        return new BoundedSlotTable<String>(capacity)::canonical;
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.myjtools.gherkinparser;
+
+import org.myjtools.gherkinparser.elements.TableRow;
+
+
+/**
+ * Receives the rows of data tables and examples tables as soon as they are read, instead of
+ * retaining them in the parsed document. When a consumer is used, each table in the resulting
+ * document only keeps its first row, while {@code ColumnarTable.totalRowCount()} still reports
+ * the size of the source table.
+ */
+@FunctionalInterface
+public interface TableRowConsumer {
+
+    enum TableType {
+        DATA_TABLE,
+        EXAMPLES_TABLE
+    }
+
+    /**
+     * @param tableType the kind of table the row belongs to
+     * @param rowIndex zero-based index of the row within its table (the header is row 0)
+     * @param row the row, including the location of every cell
+     */
+    void accept(TableType tableType, int rowIndex, TableRow row);
+
+}
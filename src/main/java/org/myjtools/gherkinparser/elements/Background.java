@@ -4,7 +4,6 @@ import lombok.*;
 
 import java.util.List;
 
-@EqualsAndHashCode(callSuper = true)
 @ToString
 public final class Background extends ScenarioDefinition {
 
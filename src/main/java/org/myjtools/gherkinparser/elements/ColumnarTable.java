@@ -0,0 +1,442 @@
+package org.myjtools.gherkinparser.elements;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * Column-oriented storage for table rows. Cell values are kept in a single flat array, and
+ * row lines, row columns and cell columns in plain {@code int} arrays. {@link TableRow} and
+ * {@link TableCell} instances are created on demand when accessed through {@link #rows()}.
+ * <p>
+ * The arrays are held by a {@link Content} whose positions are relative to the first row, so
+ * equal tables found at different locations can share it (see {@link StructuralSharing}).
+ */
+public final class ColumnarTable {
+
+    private static final ColumnarTable EMPTY = new ColumnarTable(
+        new Content(new String[0], new int[1], new int[0], new int[0], new int[0], 0), 0, 0
+    );
+
+    private final Content content;
+    private final int firstLine;
+    private final int firstColumn;
+
+
+    ColumnarTable(Content content, int firstLine, int firstColumn) {
+        this.content = content;
+        this.firstLine = firstLine;
+        this.firstColumn = firstColumn;
+    }
+
+
+    public static ColumnarTable empty() {
+        return EMPTY;
+    }
+
+
+    public static ColumnarTable of(List<TableRow> rows) {
+        var builder = new Builder(rows.size());
+        for (TableRow row : rows) {
+            builder.startRow(row.location().line(), row.location().column());
+            for (TableCell cell : row.cells()) {
+                builder.addCell(cell.location().column(), cell.value());
+            }
+        }
+        return builder.build();
+    }
+
+
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+
+
+    public int rowCount() {
+        return content.rowLines.length;
+    }
+
+
+    /**
+     * Number of rows of the source table, including the ones that were streamed to a
+     * row consumer during parsing and therefore are not retained by this instance
+     */
+    public int totalRowCount() {
+        return content.rowLines.length + content.omittedRows;
+    }
+
+
+    public int cellCount(int row) {
+        return content.rowOffsets[row + 1] - content.rowOffsets[row];
+    }
+
+
+    public String value(int row, int cell) {
+        return content.values[cellIndex(row, cell)];
+    }
+
+
+    public int line(int row) {
+        return firstLine + content.rowLines[row];
+    }
+
+
+    public TableRow row(int row) {
+        return new TableRow(
+            new Location(line(row), firstColumn + content.rowColumns[row]),
+            new Cells(row)
+        );
+    }
+
+
+    public List<TableRow> rows() {
+        return new Rows(0);
+    }
+
+
+    /** Rows after the first one, as used for the body of an examples table */
+    public List<TableRow> body() {
+        return rowCount() < 2 ? List.of() : new Rows(1);
+    }
+
+
+    /** Copy of this table sharing the location arrays, with every value transformed */
+    ColumnarTable mapValues(UnaryOperator<String> mapper) {
+        return new ColumnarTable(content.mapValues(mapper), firstLine, firstColumn);
+    }
+
+
+    Content content() {
+        return content;
+    }
+
+
+    /** The table viewed by the given list of rows or cells, or {@code null} if it is not a view */
+    static ColumnarTable viewed(List<?> list) {
+        if (list instanceof ColumnarTable.Rows rows) {
+            return rows.table();
+        }
+        if (list instanceof ColumnarTable.Cells cells) {
+            return cells.table();
+        }
+        return null;
+    }
+
+
+    ColumnarTable withContent(Content content) {
+        return content == this.content ? this : new ColumnarTable(content, firstLine, firstColumn);
+    }
+
+
+    private int cellIndex(int row, int cell) {
+        Objects.checkIndex(cell, cellCount(row));
+        return content.rowOffsets[row] + cell;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ColumnarTable that)) return false;
+        return firstLine == that.firstLine &&
+            firstColumn == that.firstColumn &&
+            content.equals(that.content);
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = content.hashCode();
+        result = 31 * result + firstLine;
+        result = 31 * result + firstColumn;
+        return result;
+    }
+
+
+    @Override
+    public String toString() {
+        return rows().toString();
+    }
+
+
+    private final class Rows extends AbstractList<TableRow> implements RandomAccess {
+
+        private final int first;
+        private int hash;
+
+        private Rows(int first) {
+            this.first = first;
+        }
+
+        @Override
+        public TableRow get(int index) {
+            Objects.checkIndex(index, size());
+            return row(first + index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount() - first;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o instanceof Rows that) {
+                if (hashCode() != that.hashCode()) return false;
+                if (first == that.first && table().equals(that.table())) return true;
+            }
+            return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hash;
+            if (result == 0) {
+                result = super.hashCode();
+                hash = result;
+            }
+            return result;
+        }
+
+        private ColumnarTable table() {
+            return ColumnarTable.this;
+        }
+    }
+
+
+    private final class Cells extends AbstractList<TableCell> implements RandomAccess {
+
+        private final int row;
+        private int hash;
+
+        private Cells(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public TableCell get(int index) {
+            int cellIndex = cellIndex(row, index);
+            return new TableCell(
+                new Location(line(row), firstColumn + content.cellColumns[cellIndex]),
+                content.values[cellIndex]
+            );
+        }
+
+        @Override
+        public int size() {
+            return cellCount(row);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o instanceof Cells that) {
+                if (hashCode() != that.hashCode()) return false;
+                if (row == that.row && table().equals(that.table())) return true;
+            }
+            return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hash;
+            if (result == 0) {
+                result = super.hashCode();
+                hash = result;
+            }
+            return result;
+        }
+
+        private ColumnarTable table() {
+            return ColumnarTable.this;
+        }
+    }
+
+
+    /**
+     * Values and positions of a table, with lines and columns relative to the first row
+     */
+    static final class Content {
+
+        private final String[] values;
+        // rowOffsets[i] is the index within values of the first cell of row i
+        private final int[] rowOffsets;
+        private final int[] rowLines;
+        private final int[] rowColumns;
+        private final int[] cellColumns;
+        // rows that were streamed to a consumer while parsing and not retained
+        private final int omittedRows;
+        private final int hash;
+
+
+        private Content(
+            String[] values,
+            int[] rowOffsets,
+            int[] rowLines,
+            int[] rowColumns,
+            int[] cellColumns,
+            int omittedRows
+        ) {
+            this.values = values;
+            this.rowOffsets = rowOffsets;
+            this.rowLines = rowLines;
+            this.rowColumns = rowColumns;
+            this.cellColumns = cellColumns;
+            this.omittedRows = omittedRows;
+            int result = Arrays.hashCode(values);
+            result = 31 * result + Arrays.hashCode(rowOffsets);
+            result = 31 * result + Arrays.hashCode(rowLines);
+            result = 31 * result + Arrays.hashCode(rowColumns);
+            result = 31 * result + Arrays.hashCode(cellColumns);
+            this.hash = 31 * result + omittedRows;
+        }
+
+
+        private Content mapValues(UnaryOperator<String> mapper) {
+            String[] mapped = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                mapped[i] = mapper.apply(values[i]);
+            }
+            return new Content(mapped, rowOffsets, rowLines, rowColumns, cellColumns, omittedRows);
+        }
+
+
+        Content withValues(String[] values) {
+            return new Content(values, rowOffsets, rowLines, rowColumns, cellColumns, omittedRows);
+        }
+
+
+        String[] values() {
+            return values;
+        }
+
+
+        int[][] positions() {
+            return new int[][] { rowOffsets, rowLines, rowColumns, cellColumns };
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Content that)) return false;
+            return hash == that.hash &&
+                omittedRows == that.omittedRows &&
+                Arrays.equals(values, that.values) &&
+                Arrays.equals(rowOffsets, that.rowOffsets) &&
+                Arrays.equals(rowLines, that.rowLines) &&
+                Arrays.equals(rowColumns, that.rowColumns) &&
+                Arrays.equals(cellColumns, that.cellColumns);
+        }
+
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+
+    /**
+     * Incremental builder that appends rows and cells to growing arrays, so no intermediate
+     * row or cell objects are needed.
+     */
+    public static final class Builder {
+
+        private String[] values;
+        private int[] cellColumns;
+        private int[] rowOffsets;
+        private int[] rowLines;
+        private int[] rowColumns;
+        private int rows;
+        private int cells;
+        private int omittedRows;
+        private boolean built;
+
+
+        private Builder(int expectedRows) {
+            int capacity = Math.max(expectedRows, 1);
+            this.rowOffsets = new int[capacity + 1];
+            this.rowLines = new int[capacity];
+            this.rowColumns = new int[capacity];
+            this.values = new String[capacity * 4];
+            this.cellColumns = new int[capacity * 4];
+        }
+
+
+        public Builder startRow(int line, int column) {
+            if (rows == rowLines.length) {
+                int capacity = rows * 2;
+                rowLines = Arrays.copyOf(rowLines, capacity);
+                rowColumns = Arrays.copyOf(rowColumns, capacity);
+                rowOffsets = Arrays.copyOf(rowOffsets, capacity + 1);
+            }
+            rowLines[rows] = line;
+            rowColumns[rows] = column;
+            rowOffsets[rows] = cells;
+            rows++;
+            rowOffsets[rows] = cells;
+            return this;
+        }
+
+
+        public Builder addCell(int column, String value) {
+            if (rows == 0) {
+                throw new IllegalStateException("startRow() must be invoked before addCell()");
+            }
+            if (cells == values.length) {
+                int capacity = cells * 2;
+                values = Arrays.copyOf(values, capacity);
+                cellColumns = Arrays.copyOf(cellColumns, capacity);
+            }
+            values[cells] = value;
+            cellColumns[cells] = column;
+            cells++;
+            rowOffsets[rows] = cells;
+            return this;
+        }
+
+
+        public int rowCount() {
+            return rows;
+        }
+
+
+        /** Accounts for rows that belong to the table but are not retained */
+        public Builder omitRows(int count) {
+            omittedRows += count;
+            return this;
+        }
+
+
+        public ColumnarTable build() {
+            if (built) {
+                throw new IllegalStateException("build() can only be invoked once");
+            }
+            built = true;
+            if (rows == 0 && omittedRows == 0) {
+                return EMPTY;
+            }
+            int firstLine = rows == 0 ? 0 : rowLines[0];
+            int firstColumn = rows == 0 ? 0 : rowColumns[0];
+            for (int i = 0; i < rows; i++) {
+                rowLines[i] -= firstLine;
+                rowColumns[i] -= firstColumn;
+            }
+            for (int i = 0; i < cells; i++) {
+                cellColumns[i] -= firstColumn;
+            }
+            Content content = new Content(
+                values.length == cells ? values : Arrays.copyOf(values, cells),
+                rowOffsets.length == rows + 1 ? rowOffsets : Arrays.copyOf(rowOffsets, rows + 1),
+                rowLines.length == rows ? rowLines : Arrays.copyOf(rowLines, rows),
+                rowColumns.length == rows ? rowColumns : Arrays.copyOf(rowColumns, rows),
+                cellColumns.length == cells ? cellColumns : Arrays.copyOf(cellColumns, cells),
+                omittedRows
+            );
+            return new ColumnarTable(content, firstLine, firstColumn);
+        }
+    }
+
+}
@@ -2,7 +2,6 @@ package org.myjtools.gherkinparser.elements;
 
 import lombok.*;
 
-import java.util.Collections;
 import java.util.List;
 
 @Getter
@@ -10,11 +9,19 @@ import java.util.List;
 @ToString(callSuper = true)
 public final class DataTable extends StepArgument {
 
-    private final List<TableRow> rows;
+    private final ColumnarTable table;
 
-    public DataTable(Location location, List<TableRow> rows) {
+    public DataTable(Location location, ColumnarTable table) {
         super(location);
-        this.rows = Collections.unmodifiableList(rows);
+        this.table = table;
+    }
+
+    public DataTable(ColumnarTable table) {
+        this(table.row(0).location(), table);
+    }
+
+    public DataTable(Location location, List<TableRow> rows) {
+        this(location, ColumnarTable.of(rows));
     }
 
     public DataTable(List<TableRow> rows) {
@@ -22,4 +29,9 @@ public final class DataTable extends StepArgument {
     }
 
 
+    public List<TableRow> rows() {
+        return table.rows();
+    }
+
+
 }
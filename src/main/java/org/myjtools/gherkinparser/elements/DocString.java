@@ -2,20 +2,71 @@ package org.myjtools.gherkinparser.elements;
 
 import lombok.*;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Objects;
+
 @Getter
-@EqualsAndHashCode(callSuper = true)
 @ToString(callSuper = true)
 public final class DocString extends StepArgument {
 
     private final String contentType;
-    private final String content;
+    private final CharSequence content;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int hash;
 
 
     public DocString(Location location, String contentType, String content) {
+        this(location, contentType, (CharSequence) content);
+    }
+
+
+    public DocString(Location location, String contentType, CharSequence content) {
         super(location);
         this.contentType = contentType;
-        this.content = content;
+        this.content = content instanceof DocStringContent ? content : content.toString();
+        // DocStringContent computes the same hash as the equivalent String
+        this.hash = 31 * (31 * super.hashCode() + Objects.hashCode(contentType)) + this.content.hashCode();
+    }
+
+
+    /**
+     * The content of the doc string. When the content is a view over the source lines, a new
+     * {@code String} is created on each invocation; use {@link #contentView()} or
+     * {@link #contentReader()} to avoid copying large contents.
+     */
+    public String content() {
+        return content.toString();
+    }
+
+
+    /** The content of the doc string, without materializing it */
+    public CharSequence contentView() {
+        return content;
     }
 
 
-}
\ No newline at end of file
+    public Reader contentReader() {
+        return content instanceof DocStringContent lazyContent ?
+            lazyContent.reader() :
+            new StringReader(content.toString());
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DocString that) || !super.equals(o)) return false;
+        return hash == that.hash &&
+            Objects.equals(contentType, that.contentType) &&
+            CharSequence.compare(content, that.content) == 0;
+    }
+
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
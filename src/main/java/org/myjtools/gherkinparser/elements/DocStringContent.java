@@ -0,0 +1,227 @@
+package org.myjtools.gherkinparser.elements;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Lazy view of the content of a {@link DocString}. It keeps a reference to each source line
+ * and the offset where its content starts, so the indentation is removed on access and the
+ * whole content is only copied into a new {@code String} when {@link #toString()} is invoked.
+ * Lines are joined with {@code '\n'}.
+ */
+public final class DocStringContent implements CharSequence {
+
+    private static final String[] NO_LINES = new String[0];
+
+    private final String[] lines;
+    private final int[] starts;
+    // ends[i] is the index within the content right after line i
+    private final int[] ends;
+    // String-compatible hash, computed on first use
+    private int hash;
+
+
+    private DocStringContent(String[] lines, int[] starts) {
+        this.lines = lines;
+        this.starts = starts;
+        this.ends = new int[lines.length];
+        int end = -1;
+        for (int i = 0; i < lines.length; i++) {
+            end += 1 + lines[i].length() - starts[i];
+            ends[i] = end;
+        }
+    }
+
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    @Override
+    public int length() {
+        return lines.length == 0 ? 0 : ends[lines.length - 1];
+    }
+
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length());
+        int line = lineOf(index);
+        int lineStart = line == 0 ? 0 : ends[line - 1] + 1;
+        if (index == ends[line]) {
+            return '\n';
+        }
+        return lines[line].charAt(starts[line] + index - lineStart);
+    }
+
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length());
+        StringBuilder result = new StringBuilder(end - start);
+        appendTo(result, start, end);
+        return result.toString();
+    }
+
+
+    /** Number of lines of the content */
+    public int lineCount() {
+        return lines.length;
+    }
+
+
+    /** The source lines referenced by this content */
+    String[] lines() {
+        return lines;
+    }
+
+
+    /** Reader over the content that copies the source lines directly into the read buffers */
+    public Reader reader() {
+        return new ContentReader();
+    }
+
+
+    @Override
+    public String toString() {
+        if (lines.length == 1) {
+            return lines[0].substring(starts[0]);
+        }
+        StringBuilder result = new StringBuilder(length());
+        appendTo(result, 0, length());
+        return result.toString();
+    }
+
+
+    private void appendTo(StringBuilder result, int start, int end) {
+        int position = start;
+        int line = position < end ? lineOf(position) : lines.length;
+        while (position < end) {
+            int lineStart = line == 0 ? 0 : ends[line - 1] + 1;
+            int to = Math.min(end, ends[line]);
+            result.append(lines[line], starts[line] + position - lineStart, starts[line] + to - lineStart);
+            position = to;
+            if (position < end) {
+                result.append('\n');
+                position++;
+            }
+            line++;
+        }
+    }
+
+
+    private int lineOf(int index) {
+        int position = Arrays.binarySearch(ends, index);
+        return position < 0 ? -position - 1 : position;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DocStringContent that)) return false;
+        return CharSequence.compare(this, that) == 0;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int hash = this.hash;
+        if (hash != 0) {
+            return hash;
+        }
+        // same value as String.hashCode() of the materialized content
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                hash = 31 * hash + '\n';
+            }
+            String line = lines[i];
+            for (int j = starts[i]; j < line.length(); j++) {
+                hash = 31 * hash + line.charAt(j);
+            }
+        }
+        this.hash = hash;
+        return hash;
+    }
+
+
+    private final class ContentReader extends Reader {
+
+        private int line;
+        private int offset = starts.length == 0 ? 0 : starts[0];
+        private boolean closed;
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            Objects.checkFromIndexSize(off, len, buffer.length);
+            if (closed) {
+                throw new IllegalStateException("Reader is closed");
+            }
+            if (line >= lines.length) {
+                return -1;
+            }
+            int read = 0;
+            while (read < len && line < lines.length) {
+                String text = lines[line];
+                if (offset < text.length()) {
+                    int count = Math.min(len - read, text.length() - offset);
+                    text.getChars(offset, offset + count, buffer, off + read);
+                    offset += count;
+                    read += count;
+                } else if (line == lines.length - 1) {
+                    line++;
+                } else {
+                    buffer[off + read++] = '\n';
+                    line++;
+                    offset = starts[line];
+                }
+            }
+            return read == 0 && len > 0 ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+
+    /**
+     * Collects the source lines of the content together with the offset where the content of
+     * each one starts
+     */
+    public static final class Builder {
+
+        private String[] lines = NO_LINES;
+        private int[] starts = new int[0];
+        private int size;
+
+        private Builder() { }
+
+        public Builder addLine(String line, int start) {
+            if (start < 0 || start > line.length()) {
+                throw new IndexOutOfBoundsException(start);
+            }
+            if (size == lines.length) {
+                int capacity = Math.max(8, size * 2);
+                lines = Arrays.copyOf(lines, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+            }
+            lines[size] = line;
+            starts[size] = start;
+            size++;
+            return this;
+        }
+
+        public DocStringContent build() {
+            return new DocStringContent(
+                lines.length == size ? lines : Arrays.copyOf(lines, size),
+                starts.length == size ? starts : Arrays.copyOf(starts, size)
+            );
+        }
+    }
+
+}
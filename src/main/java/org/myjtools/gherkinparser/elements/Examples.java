@@ -1,6 +1,7 @@
 package org.myjtools.gherkinparser.elements;
 
 import java.util.List;
+import java.util.Objects;
 
 public record Examples(
 
@@ -12,4 +13,21 @@ public record Examples(
     TableRow tableHeader,
     List<TableRow> tableBody
 
-) implements Section { }
+) implements Section {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        // child nodes cache their hashes, so this rejects most unequal nodes without a deep walk
+        if (!(o instanceof Examples that) || hashCode() != that.hashCode()) return false;
+        return Objects.equals(location, that.location) &&
+            Objects.equals(keyword, that.keyword) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(tags, that.tags) &&
+            Objects.equals(comments, that.comments) &&
+            Objects.equals(tableHeader, that.tableHeader) &&
+            Objects.equals(tableBody, that.tableBody);
+    }
+
+}
@@ -0,0 +1,209 @@
+package org.myjtools.gherkinparser.elements;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+
+/**
+ * Spliterator over the (examples, row) pairs of a {@link ScenarioOutline}. Every pair is
+ * expanded into a {@link Scenario} only when it is traversed, so splits never share or
+ * pre-build the list of expanded scenarios.
+ */
+final class ExamplesRowSpliterator implements Spliterator<Scenario> {
+
+    private static final int CHARACTERISTICS =
+        ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+    private final ScenarioOutline outline;
+    // offsets[i] is the global index of the first body row of examples i
+    private final int[] offsets;
+    private int index;
+    private final int fence;
+
+
+    ExamplesRowSpliterator(ScenarioOutline outline) {
+        this(outline, offsets(outline.examples()), 0, -1);
+    }
+
+
+    private ExamplesRowSpliterator(ScenarioOutline outline, int[] offsets, int index, int fence) {
+        this.outline = outline;
+        this.offsets = offsets;
+        this.index = index;
+        this.fence = fence < 0 ? offsets[offsets.length - 1] : fence;
+    }
+
+
+    private static int[] offsets(List<Examples> examples) {
+        int[] offsets = new int[examples.size() + 1];
+        for (int i = 0; i < examples.size(); i++) {
+            Examples item = examples.get(i);
+            int rows = item.tableHeader() == null ? 0 : item.tableBody().size();
+            offsets[i + 1] = offsets[i] + rows;
+        }
+        return offsets;
+    }
+
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Scenario> action) {
+        if (index >= fence) {
+            return false;
+        }
+        int examplesIndex = examplesIndexOf(index);
+        action.accept(expand(examplesIndex, index - offsets[examplesIndex]));
+        index++;
+        return true;
+    }
+
+
+    @Override
+    public void forEachRemaining(Consumer<? super Scenario> action) {
+        if (index >= fence) {
+            return;
+        }
+        int examplesIndex = examplesIndexOf(index);
+        for (int i = index; i < fence; i++) {
+            while (i >= offsets[examplesIndex + 1]) {
+                examplesIndex++;
+            }
+            action.accept(expand(examplesIndex, i - offsets[examplesIndex]));
+        }
+        index = fence;
+    }
+
+
+    @Override
+    public Spliterator<Scenario> trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+        var prefix = new ExamplesRowSpliterator(outline, offsets, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+
+    @Override
+    public long estimateSize() {
+        return (long) fence - index;
+    }
+
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+
+    private int examplesIndexOf(int rowIndex) {
+        int position = Arrays.binarySearch(offsets, rowIndex);
+        if (position < 0) {
+            return -position - 2;
+        }
+        // skip examples without body rows, which share the same offset
+        while (offsets[position + 1] == rowIndex) {
+            position++;
+        }
+        return position;
+    }
+
+
+    private Scenario expand(int examplesIndex, int rowIndex) {
+        Examples examples = outline.examples().get(examplesIndex);
+        String[] names = values(examples.tableHeader());
+        String[] values = values(examples.tableBody().get(rowIndex));
+        List<Tag> tags = new ArrayList<>(outline.tags().size() + examples.tags().size());
+        tags.addAll(outline.tags());
+        tags.addAll(examples.tags());
+        List<Step> steps = new ArrayList<>(outline.children().size());
+        for (Step step : outline.children()) {
+            steps.add(new Step(
+                step.location(),
+                step.comments(),
+                step.keyword(),
+                replace(step.text(), names, values),
+                replace(step.argument(), names, values)
+            ));
+        }
+        return new Scenario(
+            examples.tableBody().get(rowIndex).location(),
+            outline.comments(),
+            tags,
+            outline.keyword(),
+            replace(outline.name(), names, values),
+            outline.description(),
+            steps
+        );
+    }
+
+
+    private static String[] values(TableRow row) {
+        List<TableCell> cells = row.cells();
+        String[] values = new String[cells.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cells.get(i).value();
+        }
+        return values;
+    }
+
+
+    private static StepArgument replace(StepArgument argument, String[] names, String[] values) {
+        if (argument instanceof DataTable dataTable) {
+            return new DataTable(
+                dataTable.location(),
+                dataTable.table().mapValues(value -> replace(value, names, values))
+            );
+        } else if (argument instanceof DocString docString) {
+            return new DocString(
+                docString.location(),
+                docString.contentType(),
+                replace(docString.content(), names, values)
+            );
+        }
+        return argument;
+    }
+
+
+    static String replace(String text, String[] names, String[] values) {
+        if (text == null || text.indexOf('<') < 0) {
+            return text;
+        }
+        StringBuilder result = null;
+        int copied = 0;
+        int start = text.indexOf('<');
+        while (start >= 0) {
+            int end = text.indexOf('>', start + 1);
+            if (end < 0) {
+                break;
+            }
+            String value = valueOf(text, start + 1, end, names, values);
+            if (value != null) {
+                if (result == null) {
+                    result = new StringBuilder(text.length() + 16);
+                }
+                result.append(text, copied, start).append(value);
+                copied = end + 1;
+                start = text.indexOf('<', copied);
+            } else {
+                start = text.indexOf('<', start + 1);
+            }
+        }
+        if (result == null) {
+            return text;
+        }
+        return result.append(text, copied, text.length()).toString();
+    }
+
+
+    private static String valueOf(String text, int start, int end, String[] names, String[] values) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].length() == end - start && text.startsWith(names[i], start) && i < values.length) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.myjtools.gherkinparser.elements;
 
 import java.util.List;
+import java.util.Objects;
 
 public record Feature (
     Location location,
@@ -11,4 +12,21 @@ public record Feature (
     String description,
     List<ScenarioDefinition> children,
     String language
-) implements Section, ParentNode<ScenarioDefinition> { }
+) implements Section, ParentNode<ScenarioDefinition> {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        // child nodes cache their hashes, so this rejects most unequal nodes without a deep walk
+        if (!(o instanceof Feature that) || hashCode() != that.hashCode()) return false;
+        return Objects.equals(location, that.location) &&
+            Objects.equals(language, that.language) &&
+            Objects.equals(keyword, that.keyword) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(tags, that.tags) &&
+            Objects.equals(comments, that.comments) &&
+            Objects.equals(children, that.children);
+    }
+
+}
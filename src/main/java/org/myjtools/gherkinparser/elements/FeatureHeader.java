@@ -0,0 +1,17 @@
+package org.myjtools.gherkinparser.elements;
+
+import java.util.List;
+
+
+/**
+ * The header of a feature (its tags, keyword, name and description), as returned by
+ * {@code GherkinParser.probeHeader()} without reading the rest of the document
+ */
+public record FeatureHeader (
+    Location location,
+    List<Tag> tags,
+    String keyword,
+    String name,
+    String description,
+    String language
+) implements Node, Tagged { }
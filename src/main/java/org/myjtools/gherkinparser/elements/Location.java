@@ -10,4 +10,29 @@ public record Location(int line, int column) {
         this(0, 0);
     }
 
+
+    /**
+     * Packs a line and a column into a single {@code long}, so nodes can keep their position
+     * without allocating a {@code Location} until it is requested
+     */
+    public static long pack(int line, int column) {
+        return ((long) line << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    public static long pack(Location location) {
+        return location == null ? pack(0, 0) : pack(location.line, location.column);
+    }
+
+    public static Location unpack(long position) {
+        return new Location(line(position), column(position));
+    }
+
+    public static int line(long position) {
+        return (int) (position >>> 32);
+    }
+
+    public static int column(long position) {
+        return (int) position;
+    }
+
 }
@@ -0,0 +1,206 @@
+package org.myjtools.gherkinparser.elements;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+
+/**
+ * Immutable list of located text nodes, such as tags and comments, that keeps every position
+ * packed in a {@code long} array along with the texts. Nodes are created on demand when they
+ * are accessed.
+ * <p>
+ * Positions are stored relative to the first element in a {@link Content}, so equal lists
+ * found at different locations can share it (see {@link StructuralSharing}).
+ */
+public final class PackedList<T extends Node> extends AbstractList<T> implements RandomAccess {
+
+    @FunctionalInterface
+    private interface NodeFactory<T> {
+        T create(Location location, String text);
+    }
+
+    private static final NodeFactory<Tag> TAG = Tag::new;
+    private static final NodeFactory<Comment> COMMENT = Comment::new;
+
+    private final NodeFactory<T> factory;
+    private final Content content;
+    private final int firstLine;
+    private final int firstColumn;
+    // list hash, computed on first use
+    private int hash;
+
+
+    private PackedList(NodeFactory<T> factory, Content content, int firstLine, int firstColumn) {
+        this.factory = factory;
+        this.content = content;
+        this.firstLine = firstLine;
+        this.firstColumn = firstColumn;
+    }
+
+
+    public static Builder<Tag> tags() {
+        return new Builder<>(TAG);
+    }
+
+
+    public static Builder<Comment> comments() {
+        return new Builder<>(COMMENT);
+    }
+
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size());
+        return factory.create(location(index), content.texts[index]);
+    }
+
+
+    /** The text of the element at the given position, without creating the node */
+    public String text(int index) {
+        return content.texts[index];
+    }
+
+
+    private Location location(int index) {
+        long relative = content.positions[index];
+        return new Location(firstLine + Location.line(relative), firstColumn + Location.column(relative));
+    }
+
+
+    @Override
+    public int size() {
+        return content.texts.length;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o instanceof PackedList<?> that && factory == that.factory) {
+            // compare the packed arrays instead of creating every node
+            if (isEmpty() || that.isEmpty()) return isEmpty() && that.isEmpty();
+            return hashCode() == that.hashCode() &&
+                firstLine == that.firstLine &&
+                firstColumn == that.firstColumn &&
+                content.equals(that.content);
+        }
+        return super.equals(o);
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = super.hashCode();
+            hash = result;
+        }
+        return result;
+    }
+
+
+    Content content() {
+        return content;
+    }
+
+
+    PackedList<T> withContent(Content content) {
+        return content == this.content ? this : new PackedList<>(factory, content, firstLine, firstColumn);
+    }
+
+
+    /**
+     * Texts and positions of the elements, relative to the first one
+     */
+    static final class Content {
+
+        private final long[] positions;
+        private final String[] texts;
+        private final int hash;
+
+        private Content(long[] positions, String[] texts) {
+            this.positions = positions;
+            this.texts = texts;
+            this.hash = 31 * Arrays.hashCode(positions) + Arrays.hashCode(texts);
+        }
+
+        long[] positions() {
+            return positions;
+        }
+
+        String[] texts() {
+            return texts;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Content that)) return false;
+            return hash == that.hash &&
+                Arrays.equals(positions, that.positions) &&
+                Arrays.equals(texts, that.texts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+
+    public static final class Builder<T extends Node> {
+
+        private final NodeFactory<T> factory;
+        private int[] lines = new int[4];
+        private int[] columns = new int[4];
+        private String[] texts = new String[4];
+        private int size;
+
+        private Builder(NodeFactory<T> factory) {
+            this.factory = factory;
+        }
+
+        public Builder<T> add(int line, int column, String text) {
+            if (size == texts.length) {
+                lines = Arrays.copyOf(lines, size * 2);
+                columns = Arrays.copyOf(columns, size * 2);
+                texts = Arrays.copyOf(texts, size * 2);
+            }
+            lines[size] = line;
+            columns[size] = column;
+            texts[size] = text;
+            size++;
+            return this;
+        }
+
+        public Builder<T> addAll(PackedList<T> list) {
+            for (int i = 0; i < list.size(); i++) {
+                long relative = list.content.positions[i];
+                add(
+                    list.firstLine + Location.line(relative),
+                    list.firstColumn + Location.column(relative),
+                    list.content.texts[i]
+                );
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public PackedList<T> build() {
+            int firstLine = size == 0 ? 0 : lines[0];
+            int firstColumn = size == 0 ? 0 : columns[0];
+            long[] positions = new long[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = Location.pack(lines[i] - firstLine, columns[i] - firstColumn);
+            }
+            var content = new Content(positions, Arrays.copyOf(texts, size));
+            return new PackedList<>(factory, content, firstLine, firstColumn);
+        }
+    }
+
+}
@@ -0,0 +1,385 @@
+package org.myjtools.gherkinparser.elements;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Estimates the heap retained by parsed documents, walking the element model instead of
+ * relying on an agent. Every object is counted once, so strings interned by a
+ * {@code StringInterner} and subtrees shared through {@link StructuralSharing} are only
+ * accounted to the first document that reaches them; adding several documents to the same
+ * estimator gives the retained size of the whole corpus.
+ * <p>
+ * Sizes follow the layout of a 64-bit HotSpot JVM with compressed oops and class pointers
+ * (heaps below 32 GB) and compact strings. Array lists are assumed to be filled one element
+ * at a time, as the parser does, and the nodes created on demand by packed lists and columnar
+ * tables are not counted, since they are not retained. Not thread-safe.
+ * <p>
+ * The estimate is a best-effort guess: the lists created by {@code List.of()} and
+ * {@code Collections.unmodifiableList()} are sized after their OpenJDK implementation, and any
+ * other list after an {@code ArrayList}. Other JVMs and layouts may differ by a few percent.
+ * <pre>
+ * var estimator = new RetainedSizeEstimator();
+ * documents.forEach(estimator::add);
+ * long tables = estimator.bytes(RetainedSizeEstimator.Kind.TABLES);
+ * </pre>
+ */
+public final class RetainedSizeEstimator {
+
+    /** Kinds of content the retained size is broken down into */
+    public enum Kind {
+        /** Documents, features, scenarios, steps and examples, and the lists holding them */
+        STRUCTURE,
+        /** Keywords, names, descriptions, step texts and languages */
+        TEXT,
+        TAGS,
+        COMMENTS,
+        /** Data tables and examples tables, with their cell values */
+        TABLES,
+        DOC_STRINGS,
+        /** Location objects and the position arrays of packed lists and tables */
+        LOCATIONS
+    }
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    // classes of the JDK lists, found through their factories instead of their internal names
+    private static final Class<?> SMALL_IMMUTABLE_LIST = List.of(1).getClass();
+    private static final Class<?> IMMUTABLE_LIST = List.of(1, 2, 3).getClass();
+    private static final Set<Class<?>> UNMODIFIABLE_LISTS = Set.of(
+        Collections.unmodifiableList(new ArrayList<>()).getClass(),
+        Collections.unmodifiableList(new LinkedList<>()).getClass()
+    );
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final long[] bytes = new long[Kind.values().length];
+    private int documents;
+
+
+    /** Retained size of a single document, in bytes */
+    public static long estimate(GherkinDocument document) {
+        return new RetainedSizeEstimator().add(document).total();
+    }
+
+
+    public RetainedSizeEstimator add(GherkinDocument document) {
+        documents++;
+        if (visit(document)) {
+            count(Kind.STRUCTURE, object(1, 0));
+            feature(document.feature());
+        }
+        return this;
+    }
+
+
+    public RetainedSizeEstimator addAll(Collection<GherkinDocument> documents) {
+        documents.forEach(this::add);
+        return this;
+    }
+
+
+    public int documents() {
+        return documents;
+    }
+
+
+    /** Estimated bytes retained by the documents added so far */
+    public long total() {
+        long total = 0;
+        for (long kindBytes : bytes) {
+            total += kindBytes;
+        }
+        return total;
+    }
+
+
+    public long bytes(Kind kind) {
+        return bytes[kind.ordinal()];
+    }
+
+
+    public Map<Kind, Long> breakdown() {
+        Map<Kind, Long> breakdown = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            breakdown.put(kind, bytes(kind));
+        }
+        return breakdown;
+    }
+
+
+    @Override
+    public String toString() {
+        long total = total();
+        var report = new StringBuilder("%d documents, %d bytes%n".formatted(documents, total));
+        for (Kind kind : Kind.values()) {
+            report.append("  %-12s %12d bytes %5.1f%%%n".formatted(
+                kind, bytes(kind), total == 0 ? 0.0 : 100.0 * bytes(kind) / total
+            ));
+        }
+        return report.toString();
+    }
+
+
+    private void feature(Feature feature) {
+        if (!visit(feature)) {
+            return;
+        }
+        count(Kind.STRUCTURE, object(8, 0));
+        location(feature.location());
+        nodes(feature.comments(), Kind.COMMENTS);
+        nodes(feature.tags(), Kind.TAGS);
+        strings(Kind.TEXT, feature.keyword(), feature.name(), feature.description(), feature.language());
+        list(feature.children(), Kind.STRUCTURE);
+        feature.children().forEach(this::scenarioDefinition);
+    }
+
+
+    private void scenarioDefinition(ScenarioDefinition scenario) {
+        if (!visit(scenario)) {
+            return;
+        }
+        boolean outline = scenario instanceof ScenarioOutline;
+        // packed position and hash, plus the examples and their hash for outlines
+        count(Kind.STRUCTURE, outline ? object(7, 16) : object(6, 12));
+        nodes(scenario.comments(), Kind.COMMENTS);
+        nodes(scenario.tags(), Kind.TAGS);
+        strings(Kind.TEXT, scenario.keyword(), scenario.name(), scenario.description());
+        list(scenario.children(), Kind.STRUCTURE);
+        scenario.children().forEach(this::step);
+        if (scenario instanceof ScenarioOutline scenarioOutline) {
+            list(scenarioOutline.examples(), Kind.STRUCTURE);
+            scenarioOutline.examples().forEach(this::examples);
+        }
+    }
+
+
+    private void step(Step step) {
+        if (!visit(step)) {
+            return;
+        }
+        count(Kind.STRUCTURE, object(5, 0));
+        location(step.location());
+        nodes(step.comments(), Kind.COMMENTS);
+        strings(Kind.TEXT, step.keyword(), step.text());
+        if (step.argument() instanceof DataTable dataTable && visit(dataTable)) {
+            count(Kind.TABLES, object(1, 8));
+            table(dataTable.table());
+        } else if (step.argument() instanceof DocString docString && visit(docString)) {
+            count(Kind.DOC_STRINGS, object(2, 12));
+            strings(Kind.DOC_STRINGS, docString.contentType());
+            docStringContent(docString.contentView());
+        }
+    }
+
+
+    private void docStringContent(CharSequence content) {
+        if (!(content instanceof DocStringContent lazyContent)) {
+            // any other content is sized as a string of the same length
+            if (content != null && visit(content)) {
+                count(Kind.DOC_STRINGS, string(content));
+            }
+            return;
+        }
+        if (!visit(lazyContent)) {
+            return;
+        }
+        // the source lines, and the start and end of each one
+        int lines = lazyContent.lineCount();
+        count(Kind.DOC_STRINGS, object(3, 4) + references(lines) + 2 * array(lines, 4));
+        strings(Kind.DOC_STRINGS, lazyContent.lines());
+    }
+
+
+    private void examples(Examples examples) {
+        if (!visit(examples)) {
+            return;
+        }
+        count(Kind.STRUCTURE, object(8, 0));
+        location(examples.location());
+        nodes(examples.comments(), Kind.COMMENTS);
+        nodes(examples.tags(), Kind.TAGS);
+        strings(Kind.TEXT, examples.keyword(), examples.name(), examples.description());
+        if (examples.tableHeader() != null && visit(examples.tableHeader())) {
+            count(Kind.TABLES, object(2, 0));
+            location(examples.tableHeader().location());
+            rows(examples.tableHeader().cells());
+        }
+        rows(examples.tableBody());
+    }
+
+
+    /** Rows or cells of a table, usually a view of a columnar table */
+    private void rows(List<?> rows) {
+        ColumnarTable table = ColumnarTable.viewed(rows);
+        if (table == null) {
+            list(rows, Kind.TABLES);
+            for (Object row : rows) {
+                if (row instanceof TableRow tableRow && visit(tableRow)) {
+                    count(Kind.TABLES, object(2, 0));
+                    location(tableRow.location());
+                    rows(tableRow.cells());
+                } else if (row instanceof TableCell cell && visit(cell)) {
+                    count(Kind.TABLES, object(2, 0));
+                    location(cell.location());
+                    strings(Kind.TABLES, cell.value());
+                }
+            }
+        } else if (visit(rows)) {
+            // the view keeps a reference to its table, its first row and its hash
+            count(Kind.TABLES, object(1, 8));
+            table(table);
+        }
+    }
+
+
+    private void table(ColumnarTable table) {
+        if (!visit(table)) {
+            return;
+        }
+        count(Kind.TABLES, object(1, 8));
+        ColumnarTable.Content content = table.content();
+        if (!visit(content)) {
+            return;
+        }
+        count(Kind.TABLES, object(5, 8) + references(content.values().length));
+        strings(Kind.TABLES, content.values());
+        int[][] positions = content.positions();
+        // the row offsets locate the values of each row, the rest are source positions
+        count(Kind.TABLES, array(positions[0].length, 4));
+        for (int i = 1; i < positions.length; i++) {
+            count(Kind.LOCATIONS, array(positions[i].length, 4));
+        }
+    }
+
+
+    private void nodes(List<? extends Node> nodes, Kind kind) {
+        if (nodes instanceof PackedList<?> packedList) {
+            if (!visit(packedList)) {
+                return;
+            }
+            count(kind, object(2, 12));
+            PackedList.Content content = packedList.content();
+            if (visit(content)) {
+                count(kind, object(2, 4) + references(content.texts().length));
+                count(Kind.LOCATIONS, array(content.positions().length, 8));
+                strings(kind, content.texts());
+            }
+            return;
+        }
+        list(nodes, kind);
+        for (Node node : nodes) {
+            if (visit(node)) {
+                count(kind, object(2, 0));
+                location(node.location());
+                strings(kind, node instanceof Tag tag ? tag.name() : ((Comment) node).text());
+            }
+        }
+    }
+
+
+    private void location(Location location) {
+        if (location != null && visit(location)) {
+            count(Kind.LOCATIONS, object(0, 8));
+        }
+    }
+
+
+    /** The list object itself, not its elements */
+    private void list(List<?> list, Kind kind) {
+        if (!visit(list)) {
+            return;
+        }
+        long size;
+        if (list == List.of() || list == Collections.emptyList()) {
+            // empty immutable lists are shared singletons
+            size = 0;
+        } else if (list.getClass() == SMALL_IMMUTABLE_LIST) {
+            size = object(2, 0);
+        } else if (list.getClass() == IMMUTABLE_LIST) {
+            size = object(1, 1) + references(list.size());
+        } else if (UNMODIFIABLE_LISTS.contains(list.getClass())) {
+            // the wrapped list is assumed to be an immutable singleton when empty, else an array list
+            size = object(2, 0) + (list.isEmpty() ? 0 : arrayList(list.size()));
+        } else {
+            size = arrayList(list.size());
+        }
+        count(kind, size);
+    }
+
+
+    /** An array list filled one element at a time, growing from the default capacity */
+    private static long arrayList(int size) {
+        int capacity = 10;
+        while (capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return object(1, 8) + references(size == 0 ? 0 : capacity);
+    }
+
+
+    private void strings(Kind kind, String... strings) {
+        for (String string : strings) {
+            if (string != null && visit(string)) {
+                count(kind, string(string));
+            }
+        }
+    }
+
+
+    /** Hash, value reference, coder and hash-is-zero flag, plus the byte array */
+    private static long string(CharSequence string) {
+        return object(1, 6) + array(string.length(), isLatin1(string) ? 1 : 2);
+    }
+
+
+    private static boolean isLatin1(CharSequence string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private boolean visit(Object object) {
+        return visited.add(object);
+    }
+
+
+    private void count(Kind kind, long size) {
+        bytes[kind.ordinal()] += size;
+    }
+
+
+    private static long object(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+
+    private static long references(int length) {
+        return array(length, REFERENCE);
+    }
+
+
+    private static long array(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+}
@@ -4,7 +4,6 @@ import lombok.*;
 
 import java.util.List;
 
-@EqualsAndHashCode(callSuper = true)
 @ToString(callSuper = true)
 public final class Scenario extends ScenarioDefinition {
 
@@ -2,23 +2,30 @@ package org.myjtools.gherkinparser.elements;
 
 import lombok.*;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import static java.util.Collections.unmodifiableList;
 
-@EqualsAndHashCode
 @Getter
 @ToString
 public abstract sealed class ScenarioDefinition implements Section, ParentNode<Step>
 permits Background, Scenario, ScenarioOutline {
 
-    private final Location location;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final long position;
     private final List<Comment> comments;
     private final List<Tag> tags;
     private final String keyword;
     private final String name;
     private final String description;
     private final List<Step> children;
+    // structural hash computed once, since the node is immutable
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int hash;
 
 
     protected ScenarioDefinition(
@@ -30,14 +37,51 @@ permits Background, Scenario, ScenarioOutline {
         String description,
         List<Step> children
     ) {
-        this.location = location;
-        this.comments = unmodifiableList(comments);
-        this.tags = unmodifiableList(tags);
+        this.position = Location.pack(location);
+        this.comments = unmodifiable(comments);
+        this.tags = unmodifiable(tags);
         this.keyword = keyword;
         this.name = name;
         this.description = description;
-        this.children = unmodifiableList(children);
+        this.children = unmodifiable(children);
+        this.hash = Objects.hash(position, comments, tags, keyword, name, description, children);
     }
 
 
+    // empty and packed lists are immutable already, so wrapping them would only take memory
+    private static <T> List<T> unmodifiable(List<T> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return list instanceof PackedList<?> ? list : unmodifiableList(list);
+    }
+
+
+    @ToString.Include(rank = 1)
+    public Location location() {
+        return Location.unpack(position);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScenarioDefinition that = (ScenarioDefinition) o;
+        return hash == that.hash &&
+            position == that.position &&
+            Objects.equals(keyword, that.keyword) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(tags, that.tags) &&
+            Objects.equals(comments, that.comments) &&
+            Objects.equals(children, that.children);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
 }
@@ -3,15 +3,21 @@ package org.myjtools.gherkinparser.elements;
 import lombok.*;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Collections.unmodifiableList;
 
-@EqualsAndHashCode(callSuper = true)
 @Getter
 @ToString(callSuper = true)
 public final class ScenarioOutline extends ScenarioDefinition {
 
     private final List<Examples> examples;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final int examplesHash;
 
 
     public ScenarioOutline(
@@ -26,6 +32,41 @@ public final class ScenarioOutline extends ScenarioDefinition {
     ) {
         super(location, comments, tags, keyword, name, description, children);
         this.examples = unmodifiableList(examples);
+        this.examplesHash = examples.hashCode();
+    }
+
+
+    /**
+     * Spliterator over every (examples, row) pair of this outline, producing the expanded
+     * scenario of each pair on demand. It is {@code SIZED} and {@code SUBSIZED}, so parallel
+     * streams split the rows evenly regardless of how they are spread among the examples.
+     */
+    public Spliterator<Scenario> expansionSpliterator() {
+        return new ExamplesRowSpliterator(this);
+    }
+
+
+    /**
+     * Stream of the scenarios resulting from replacing the {@code <placeholders>} of this outline
+     * with the values of each examples row. Use {@code expand().parallel()} to spread the work
+     * across threads.
+     */
+    public Stream<Scenario> expand() {
+        return StreamSupport.stream(expansionSpliterator(), false);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+        ScenarioOutline that = (ScenarioOutline) o;
+        return examplesHash == that.examplesHash && Objects.equals(examples, that.examples);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + examplesHash;
     }
 
 
@@ -1,6 +1,7 @@
 package org.myjtools.gherkinparser.elements;
 
 import java.util.List;
+import java.util.Objects;
 
 public record Step (
     Location location,
@@ -8,4 +9,18 @@ public record Step (
     String keyword,
     String text,
     StepArgument argument
-) implements Node, Commented { }
\ No newline at end of file
+) implements Node, Commented {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        // child nodes cache their hashes, so this rejects most unequal nodes without a deep walk
+        if (!(o instanceof Step that) || hashCode() != that.hashCode()) return false;
+        return Objects.equals(location, that.location) &&
+            Objects.equals(comments, that.comments) &&
+            Objects.equals(keyword, that.keyword) &&
+            Objects.equals(text, that.text) &&
+            Objects.equals(argument, that.argument);
+    }
+
+}
@@ -2,14 +2,22 @@ package org.myjtools.gherkinparser.elements;
 
 import lombok.*;
 
-@Getter
-@AllArgsConstructor(access = AccessLevel.PROTECTED)
 @EqualsAndHashCode
 @ToString
 public sealed class StepArgument implements Node permits DataTable, DocString {
 
-    private final Location location;
+    @ToString.Exclude
+    private final long position;
 
 
+    protected StepArgument(Location location) {
+        this.position = Location.pack(location);
+    }
+
+
+    @ToString.Include(rank = 1)
+    public Location location() {
+        return Location.unpack(position);
+    }
 
 }
@@ -0,0 +1,95 @@
+package org.myjtools.gherkinparser.elements;
+
+import org.myjtools.gherkinparser.internal.BoundedSlotTable;
+
+import java.util.List;
+
+
+/**
+ * Opt-in hash-consing of the parts of the AST that are usually repeated across documents,
+ * such as steps copied among scenarios or backgrounds shared by several features. Data tables,
+ * doc string contents, comment and tag lists, step keywords and step texts that are equal
+ * once their locations are set aside are replaced by a single canonical instance, while the
+ * locations stay in the per-occurrence node ({@link Step}, {@link DataTable}, {@link DocString}
+ * or the list itself).
+ * <p>
+ * Canonical instances are kept in a fixed-size, lock-free table, so memory use is bounded
+ * and a single instance can be shared by parsers working concurrently. Each value has two
+ * candidate slots, and when both are taken the one given by its hash is replaced, whatever the
+ * age of its value (see {@link BoundedSlotTable}).
+ */
+public final class StructuralSharing {
+
+    private final BoundedSlotTable<Object> table;
+
+
+    private StructuralSharing(int capacity) {
+        this.table = new BoundedSlotTable<>(capacity);
+    }
+
+
+    /** Creates a sharing table holding at most {@code capacity} canonical instances */
+    public static StructuralSharing bounded(int capacity) {
+        return new StructuralSharing(capacity);
+    }
+
+
+    public Step share(Step step) {
+        if (step == null) {
+            return null;
+        }
+        List<Comment> comments = share(step.comments());
+        String keyword = canonical(step.keyword());
+        String text = canonical(step.text());
+        StepArgument argument = share(step.argument());
+        if (comments == step.comments() && keyword == step.keyword() &&
+            text == step.text() && argument == step.argument()) {
+            return step;
+        }
+        return new Step(step.location(), comments, keyword, text, argument);
+    }
+
+
+    public StepArgument share(StepArgument argument) {
+        if (argument instanceof DataTable dataTable) {
+            return share(dataTable);
+        } else if (argument instanceof DocString docString) {
+            return share(docString);
+        }
+        return argument;
+    }
+
+
+    public DataTable share(DataTable dataTable) {
+        ColumnarTable table = dataTable.table();
+        ColumnarTable shared = table.withContent(canonical(table.content()));
+        return shared == table ? dataTable : new DataTable(dataTable.location(), shared);
+    }
+
+
+    public DocString share(DocString docString) {
+        String contentType = canonical(docString.contentType());
+        CharSequence content = canonical(docString.contentView());
+        if (contentType == docString.contentType() && content == docString.contentView()) {
+            return docString;
+        }
+        return new DocString(docString.location(), contentType, content);
+    }
+
+
+    /** Shares the content of tag and comment lists, keeping their locations */
+    public <T extends Node> List<T> share(List<T> list) {
+        if (list instanceof PackedList<T> packedList) {
+            return packedList.withContent(canonical(packedList.content()));
+        }
+        return list;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private <T> T canonical(T value) {
+        // values of different types are never equal, so they can share the table
+        return (T) table.canonical(value);
+    }
+
+}
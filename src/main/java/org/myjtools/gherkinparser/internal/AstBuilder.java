@@ -0,0 +1,23 @@
+package org.myjtools.gherkinparser.internal;
+
+
+/**
+ * Receives the tokens and the rules recognized by the {@link Parser}, producing a result out of
+ * them. The parser drives the grammar regardless of the builder, so a builder may produce a full
+ * AST, some statistics or nothing at all.
+ *
+ * @param <T> the type of the result
+ */
+public interface AstBuilder<T> {
+
+    void reset();
+
+    void build(Token token);
+
+    void startRule(RuleType ruleType);
+
+    void endRule();
+
+    T getResult();
+
+}
@@ -6,7 +6,8 @@ import org.myjtools.gherkinparser.elements.Location;
 public class AstBuilderException extends ParserException {
 
     public AstBuilderException(String message, Location location) {
-        super(message, location);
+        // raised for invalid contents and collected by the parser, the stack trace is useless
+        super(message, location, false);
     }
 
 }
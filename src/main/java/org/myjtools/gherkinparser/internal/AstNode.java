@@ -40,7 +40,7 @@ public class AstNode {
 
     public Token getToken(TokenType tokenType) {
         RuleType tokenRuleType = RuleType.cast(tokenType);
-        return getSingle(tokenRuleType, new Token(null, null));
+        return getSingle(tokenRuleType, new Token(null, 0));
     }
 
     public List<Token> getTokens(TokenType tokenType) {
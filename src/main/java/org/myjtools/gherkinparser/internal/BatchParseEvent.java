@@ -0,0 +1,36 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name("org.myjtools.gherkinparser.BatchParse")
+@Label("Gherkin Batch Parse")
+@Category("Gherkin Parser")
+@Description("A set of files parsed with GherkinParser.parseAll()")
+public final class BatchParseEvent extends jdk.jfr.Event {
+
+    @Label("Documents")
+    public int documents;
+
+    @Label("Failed Documents")
+    public int failedDocuments;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Lines")
+    public long lines;
+
+    @Label("Scenarios")
+    public long scenarios;
+
+    @Label("Errors")
+    public long errors;
+
+}
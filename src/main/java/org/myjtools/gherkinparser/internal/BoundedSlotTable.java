@@ -0,0 +1,55 @@
+package org.myjtools.gherkinparser.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Fixed-size, lock-free table of canonical instances, backing the bounded
+ * {@link org.myjtools.gherkinparser.StringInterner} and the
+ * {@link org.myjtools.gherkinparser.elements.StructuralSharing} table.
+ * <p>
+ * Every value has two candidate slots: the one given by its hash and the adjacent one. A new
+ * value takes the first of them that is free, and when both are taken it replaces the value in
+ * the slot given by its hash, whatever its age, so a single collision does not evict the value
+ * in the adjacent slot. Concurrent updates may lose a canonical instance, never return a value
+ * that is not equal to the given one.
+ */
+public final class BoundedSlotTable<T> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+
+
+    /** Creates a table holding at most {@code capacity} values, rounded up to a power of two */
+    public BoundedSlotTable(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = capacity >= MAX_CAPACITY ? MAX_CAPACITY : Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+
+    /** The instance in the table equal to the given value, or the value itself, which is then stored */
+    public T canonical(T value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        T current = slots.getAcquire(index);
+        if (value.equals(current)) {
+            return current;
+        }
+        T alternative = slots.getAcquire(index ^ 1);
+        if (value.equals(alternative)) {
+            return alternative;
+        }
+        slots.setRelease(current == null || alternative != null ? index : index ^ 1, value);
+        return value;
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+@Name("org.myjtools.gherkinparser.DialectCompilation")
+@Label("Gherkin Dialect Compilation")
+@Category("Gherkin Parser")
+@Description("A dialect built from the keyword map of a provider")
+public final class DialectCompilationEvent extends jdk.jfr.Event {
+
+    @Label("Language")
+    public String language;
+
+    @Label("Keyword Map Provider")
+    public Class<?> provider;
+
+    @Label("Keywords")
+    public int keywords;
+
+}
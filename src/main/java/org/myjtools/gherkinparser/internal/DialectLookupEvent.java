@@ -0,0 +1,24 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+@Name("org.myjtools.gherkinparser.DialectLookup")
+@Label("Gherkin Dialect Lookup")
+@Category("Gherkin Parser")
+@Description("A dialect requested to the dialect cache of a parser")
+@StackTrace(false)
+public final class DialectLookupEvent extends jdk.jfr.Event {
+
+    @Label("Language")
+    public String language;
+
+    @Label("Cache Hit")
+    public boolean hit;
+
+}
@@ -0,0 +1,184 @@
+package org.myjtools.gherkinparser.internal;
+
+import org.myjtools.gherkinparser.GherkinDialect;
+import org.myjtools.gherkinparser.GherkinDialectFactory;
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+/**
+ * Keyword tables of the bundled dialects, compiled at build time. The {@code process-classes}
+ * phase runs {@link #main(String[])} over the build output, which turns every
+ * {@code gherkin_<language>.properties} file into an entry of the {@code dialects.bin}
+ * resource, with the keywords of each type already flattened and sorted longest first. Loading
+ * it at startup spares reading, splitting and sorting the properties files.
+ * <p>
+ * The resource starts with the names of the keyword types it was compiled for, and is ignored
+ * if they do not match the current ones. Each dialect is stored as a table of its distinct
+ * keywords, followed by the keywords of each type and their longest first order, as indexes
+ * into that table.
+ */
+public final class DialectTables {
+
+    static final String RESOURCE = "dialects.bin";
+
+    private static final int MAGIC = 0x474B4454;
+    private static final int VERSION = 1;
+    private static final KeywordType[] TYPES = KeywordType.values();
+
+
+    private static final class Bundled {
+        // loaded along with the first dialect requested
+        static final Map<String, PrecompiledKeywordMap> DIALECTS = load();
+    }
+
+
+    private DialectTables() { }
+
+
+    /** The precompiled keywords of the given language, if it is a bundled dialect */
+    public static Optional<KeywordMap> keywordMap(String language) {
+        return Optional.ofNullable(Bundled.DIALECTS.get(language));
+    }
+
+
+    public static Set<String> languages() {
+        return Bundled.DIALECTS.keySet();
+    }
+
+
+    /**
+     * Compiles the dialects found in the given directory into its {@code dialects.bin}
+     * resource. Run by the build, with the classes directory as the only argument.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args[0]);
+        var classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null);
+        var provider = new PropertiesKeywordMapProvider(classLoader);
+        Map<String, GherkinDialect> dialects = new TreeMap<>();
+        try (var files = Files.newDirectoryStream(directory, "gherkin_*.properties")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String language = name.substring("gherkin_".length(), name.length() - ".properties".length());
+                dialects.put(language, new GherkinDialectFactory(provider, language).defaultDialect());
+            }
+        }
+        Path resource = directory.resolve(DialectTables.class.getPackageName().replace('.', '/')).resolve(RESOURCE);
+        try (var output = Files.newOutputStream(resource)) {
+            write(dialects, output);
+        }
+        System.out.println("Compiled dialects " + dialects.keySet() + " into " + resource);
+    }
+
+
+    public static void write(Map<String, GherkinDialect> dialects, OutputStream output) throws IOException {
+        var data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(TYPES.length);
+        for (KeywordType type : TYPES) {
+            data.writeUTF(type.name());
+        }
+        data.writeShort(dialects.size());
+        for (var entry : dialects.entrySet()) {
+            GherkinDialect dialect = entry.getValue();
+            Map<String, Integer> keywordIndexes = new LinkedHashMap<>();
+            for (String keyword : dialect.keywords(KeywordType.ALL)) {
+                keywordIndexes.putIfAbsent(keyword, keywordIndexes.size());
+            }
+            data.writeUTF(entry.getKey());
+            data.writeShort(keywordIndexes.size());
+            for (String keyword : keywordIndexes.keySet()) {
+                data.writeUTF(keyword);
+            }
+            for (KeywordType type : TYPES) {
+                writeIndexes(data, dialect.keywords(type), keywordIndexes);
+                writeIndexes(data, dialect.keywordsLongestFirst(type), keywordIndexes);
+            }
+        }
+        data.flush();
+    }
+
+
+    /** Reads the dialects written by {@link #write}, or none if they were written for other keyword types */
+    public static Map<String, PrecompiledKeywordMap> read(InputStream input) throws IOException {
+        var data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC || data.readUnsignedShort() != VERSION || data.readUnsignedShort() != TYPES.length) {
+            return Map.of();
+        }
+        for (KeywordType type : TYPES) {
+            if (!type.name().equals(data.readUTF())) {
+                return Map.of();
+            }
+        }
+        int dialectCount = data.readUnsignedShort();
+        Map<String, PrecompiledKeywordMap> dialects = new HashMap<>();
+        for (int dialect = 0; dialect < dialectCount; dialect++) {
+            String language = data.readUTF();
+            String[] table = new String[data.readUnsignedShort()];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = data.readUTF();
+            }
+            List<String>[] keywords = newListArray();
+            List<String>[] keywordsLongestFirst = newListArray();
+            for (KeywordType type : TYPES) {
+                keywords[type.ordinal()] = readIndexes(data, table);
+                keywordsLongestFirst[type.ordinal()] = readIndexes(data, table);
+            }
+            dialects.put(language, new PrecompiledKeywordMap(keywords, keywordsLongestFirst));
+        }
+        return Map.copyOf(dialects);
+    }
+
+
+    private static Map<String, PrecompiledKeywordMap> load() {
+        try (InputStream input = DialectTables.class.getResourceAsStream(RESOURCE)) {
+            return input == null ? Map.of() : read(input);
+        } catch (IOException e) {
+            return Map.of();
+        }
+    }
+
+
+    private static void writeIndexes(DataOutputStream data, List<String> keywords, Map<String, Integer> indexes) throws IOException {
+        data.writeShort(keywords.size());
+        for (String keyword : keywords) {
+            data.writeShort(indexes.get(keyword));
+        }
+    }
+
+
+    private static List<String> readIndexes(DataInputStream data, String[] table) throws IOException {
+        String[] keywords = new String[data.readUnsignedShort()];
+        for (int i = 0; i < keywords.length; i++) {
+            keywords[i] = table[data.readUnsignedShort()];
+        }
+        return List.of(keywords);
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<String>[] newListArray() {
+        return new List[TYPES.length];
+    }
+
+}
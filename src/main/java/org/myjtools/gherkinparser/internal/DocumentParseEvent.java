@@ -0,0 +1,41 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+@Name("org.myjtools.gherkinparser.DocumentParse")
+@Label("Gherkin Document Parse")
+@Category("Gherkin Parser")
+@Description("A document run through the Gherkin grammar")
+@StackTrace(false)
+public final class DocumentParseEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    @Description("Path of the parsed file, or null if the source was a stream or a reader")
+    public String source;
+
+    @Label("Bytes")
+    @DataAmount
+    @Description("Bytes read from the source, or -1 if the source was not a stream")
+    public long bytes;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Scenarios")
+    @Description("Scenarios and scenario outlines found")
+    public int scenarios;
+
+    @Label("Errors")
+    public int errors;
+
+    @Label("Language")
+    public String language;
+
+}
@@ -5,63 +5,174 @@ package org.myjtools.gherkinparser.internal;
 
 
 
+import org.myjtools.gherkinparser.GherkinLanguageConstants;
+import org.myjtools.gherkinparser.ParseOptions;
+import org.myjtools.gherkinparser.StringInterner;
+import org.myjtools.gherkinparser.TableRowConsumer;
 import org.myjtools.gherkinparser.elements.*;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 
-public class GherkinAstBuilder  {
+public class GherkinAstBuilder implements AstBuilder<GherkinDocument> {
 
-    private Deque<AstNode> stack;
-    private List<Comment> currentComments;
-    private final Map<Token, List<Comment>> comments = new HashMap<>();
+    private static final String ESCAPED_DOCSTRING_SEPARATOR = "\\\"\\\"\\\"";
+
+    private final Deque<AstNode> stack = new ArrayDeque<>();
+    private PackedList.Builder<Comment> currentComments;
+    private final Map<Token, PackedList<Comment>> comments = new HashMap<>();
+    private final ParseOptions options;
+    private final StringInterner interner;
+    private final StructuralSharing sharing;
+    private TableRowConsumer tableRowConsumer;
+    // rows read from the source for the current table, including the omitted ones
+    private int tableRows;
+    private int tableCellCount;
 
 
     public GherkinAstBuilder() {
+        this(ParseOptions.defaults());
+    }
+
+
+    public GherkinAstBuilder(StringInterner interner) {
+        this(interner, null);
+    }
+
+
+    /**
+     * @param sharing table used to share repeated subtrees among documents, or {@code null}
+     *                to disable structural sharing
+     */
+    public GherkinAstBuilder(StringInterner interner, StructuralSharing sharing) {
+        this(ParseOptions.builder().interner(interner).structuralSharing(sharing).build());
+    }
+
+
+    public GherkinAstBuilder(ParseOptions options) {
+        this.options = Objects.requireNonNull(options, "options cannot be null");
+        this.interner = options.interner();
+        this.sharing = options.structuralSharing();
         reset();
     }
 
 
-    
+    @Override
     public void reset() {
-        stack = new ArrayDeque<>();
+        stack.clear();
         stack.push(new AstNode(RuleType.NONE));
-        currentComments = new ArrayList<>();
+        currentComments = null;
         comments.clear();
     }
 
 
+    /**
+     * Streams the rows of data tables and examples tables to the given consumer while they
+     * are built, keeping only the first row of each table in the AST. Use {@code null} to
+     * retain every row.
+     */
+    public void tableRowConsumer(TableRowConsumer tableRowConsumer) {
+        this.tableRowConsumer = tableRowConsumer;
+    }
+
+
     private AstNode currentNode() {
         return stack.peek();
     }
 
 
-    
+    @Override
     public void build(Token token) {
         RuleType ruleType = RuleType.cast(token.matchedType());
         switch (token.matchedType()) {
-            case COMMENT -> currentComments.add(new Comment(location(token, 0), token.matchedText()));
+            case COMMENT -> {
+                if (!options.retainComments()) {
+                    return;
+                }
+                if (currentComments == null) {
+                    currentComments = PackedList.comments();
+                }
+                currentComments.add(token.lineNumber(), column(Location.column(token.position())), token.matchedText());
+            }
             case FEATURE_LINE, SCENARIO_LINE, SCENARIO_OUTLINE_LINE, BACKGROUND_LINE, STEP_LINE -> {
-                comments.put(token, currentComments);
-                currentComments = new ArrayList<>();
+                if (currentComments != null) {
+                    comments.put(token, currentComments.build());
+                    currentComments = null;
+                }
                 currentNode().add(ruleType, token);
             }
+            case TABLE_ROW -> tableRow(token);
+            case OTHER -> {
+                if (retains(currentNode().ruleType)) {
+                    currentNode().add(ruleType, token);
+                }
+            }
             default -> currentNode().add(ruleType, token);
         }
     }
 
 
-    
+    private void tableRow(Token token) {
+        boolean dataTable = currentNode().ruleType == RuleType.DATA_TABLE;
+        // rows of skipped data tables are still checked and streamed, so the options do not
+        // change the errors found nor the rows received by the consumer
+        boolean retained = !dataTable || options.retainStepArguments();
+        int rowIndex = tableRows++;
+        if (rowIndex == 0) {
+            tableCellCount = cellCount(token, retained);
+            if (retained) {
+                currentNode().add(RuleType.TABLE_ROW, token);
+            }
+        } else if (!retained || tableRowConsumer != null || (!dataTable && !options.retainExamplesBody())) {
+            // the row is omitted from the AST, so its cell count is checked here
+            if (cellCount(token, false) != tableCellCount) {
+                throw new AstBuilderException("inconsistent cell count within the table", token.location());
+            }
+        } else {
+            currentNode().add(RuleType.TABLE_ROW, token);
+        }
+        if (tableRowConsumer != null) {
+            var tableType = dataTable ?
+                TableRowConsumer.TableType.DATA_TABLE :
+                TableRowConsumer.TableType.EXAMPLES_TABLE;
+            tableRowConsumer.accept(tableType, rowIndex, new TableRow(location(token, 0), cells(token)));
+        }
+    }
+
+
+    /** The cells are only split if they are needed anyway, else they are just counted */
+    private int cellCount(Token token, boolean retained) {
+        return retained || tableRowConsumer != null ?
+            token.matchedItems().size() :
+            token.line().getTableCellCount();
+    }
+
+
+    private boolean retains(RuleType ruleType) {
+        return switch (ruleType) {
+            case DESCRIPTION -> options.retainDescriptions();
+            case DATA_TABLE, DOC_STRING -> options.retainStepArguments();
+            default -> true;
+        };
+    }
+
+
+    @Override
     public void startRule(RuleType ruleType) {
+        if (ruleType == RuleType.DATA_TABLE || ruleType == RuleType.EXAMPLES_TABLE) {
+            tableRows = 0;
+        }
         stack.push(new AstNode(ruleType));
     }
 
 
-    
+    @Override
     public void endRule() {
         AstNode node = stack.pop();
+        if (!retains(node.ruleType)) {
+            return;
+        }
         Object transformedNode = getTransformedNode(node);
         currentNode().add(node.ruleType, transformedNode);
     }
@@ -74,7 +185,7 @@ public class GherkinAstBuilder  {
         case DOC_STRING ->
             getTransformedDocString(node);
         case DATA_TABLE ->
-            new DataTable(getTableRows(node));
+            new DataTable(getTable(node));
         case BACKGROUND ->
             getTransformedBackground(node);
         case SCENARIO_DEFINITION ->
@@ -82,7 +193,7 @@ public class GherkinAstBuilder  {
         case EXAMPLES_DEFINITION ->
             getTransformedExamplesDefinition(node);
         case EXAMPLES_TABLE ->
-            getTableRows(node);
+            getTable(node);
         case DESCRIPTION ->
             getTransformedDescription(node);
         case FEATURE ->
@@ -97,13 +208,14 @@ public class GherkinAstBuilder  {
 
     private Object getTransformedStep(AstNode node) {
         Token stepLine = node.getToken(TokenType.STEP_LINE);
-        return new Step(
+        Step step = new Step(
             location(stepLine, 0),
             comments(node),
             stepLine.matchedKeyword(),
             stepLine.matchedText(),
             stepArgument(node).orElse(null)
         );
+        return sharing == null ? step : sharing.share(step);
     }
 
 
@@ -118,24 +230,31 @@ public class GherkinAstBuilder  {
         Token separatorToken = node.getTokens(TokenType.DOC_STRING_SEPARATOR).getFirst();
         String contentType =
             (!separatorToken.matchedText().isEmpty() ? separatorToken.matchedText() : null);
+        int indentToRemove = separatorToken.line().indent();
         List<Token> lineTokens = node.getTokens(TokenType.OTHER);
-        StringBuilder content = new StringBuilder();
-        boolean newLine = false;
+        DocStringContent.Builder content = DocStringContent.builder();
         for (Token lineToken : lineTokens) {
-            if (newLine) {
-                content.append("\n");
+            GherkinLine line = lineToken.line();
+            int start = line.getLineTextStart(indentToRemove);
+            if (line.text().indexOf(ESCAPED_DOCSTRING_SEPARATOR, start) < 0) {
+                content.addLine(line.text(), start);
+            } else {
+                content.addLine(unescapeDocString(line.text().substring(start)), 0);
             }
-            newLine = true;
-            content.append(lineToken.matchedText());
         }
         return new DocString(
             location(separatorToken, 0),
             contentType,
-            content.toString()
+            content.build()
         );
     }
 
 
+    private static String unescapeDocString(String text) {
+        return text.replace(ESCAPED_DOCSTRING_SEPARATOR, GherkinLanguageConstants.DOCSTRING_SEPARATOR);
+    }
+
+
     private Object getTransformedBackground(AstNode node) {
         Token backgroundLine = node.getToken(TokenType.BACKGROUND_LINE);
         return new Background(
@@ -200,11 +319,9 @@ public class GherkinAstBuilder  {
         AstNode examplesNode = node.getSingle(RuleType.EXAMPLES, null);
         Token examplesLine = examplesNode.getToken(TokenType.EXAMPLES_LINE);
         String description = getDescription(examplesNode);
-        List<TableRow> rows = examplesNode.getSingle(RuleType.EXAMPLES_TABLE, null);
-        TableRow tableHeader =
-            (rows != null && !rows.isEmpty() ? rows.getFirst() : null);
-        List<TableRow> tableBody =
-            (rows != null && !rows.isEmpty() ? rows.subList(1, rows.size()) : List.of());
+        ColumnarTable table = examplesNode.getSingle(RuleType.EXAMPLES_TABLE, ColumnarTable.empty());
+        TableRow tableHeader = (table.rowCount() > 0 ? table.row(0) : null);
+        List<TableRow> tableBody = table.body();
         return new Examples(
             location(examplesLine, 0),
             List.of(),
@@ -266,48 +383,61 @@ public class GherkinAstBuilder  {
     }
 
 
-    private List<TableRow> getTableRows(AstNode node) {
-        List<TableRow> rows = new ArrayList<>();
-        for (Token token : node.getTokens(TokenType.TABLE_ROW)) {
-            rows.add(new TableRow(location(token, 0), cells(token)));
+    private ColumnarTable getTable(AstNode node) {
+        List<Token> tokens = node.getTokens(TokenType.TABLE_ROW);
+        ensureCellCount(tokens);
+        ColumnarTable.Builder table = ColumnarTable.builder(tokens.size());
+        for (Token token : tokens) {
+            table.startRow(token.lineNumber(), column(Location.column(token.position())));
+            for (GherkinLineSpan cellItem : token.matchedItems()) {
+                table.addCell(column(cellItem.column), interner.intern(cellItem.text));
+            }
+        }
+        table.omitRows(tableRows - tokens.size());
+        return table.build();
+    }
+
+
+    private List<TableCell> cells(Token token) {
+        List<TableCell> cells = new ArrayList<>(token.matchedItems().size());
+        for (GherkinLineSpan cellItem : token.matchedItems()) {
+            cells.add(new TableCell(location(token, cellItem.column), interner.intern(cellItem.text)));
         }
-        ensureCellCount(rows);
-        return rows;
+        return cells;
     }
 
 
-    private void ensureCellCount(List<TableRow> rows) {
-        if (rows.isEmpty()) {
+    private void ensureCellCount(List<Token> tokens) {
+        if (tokens.isEmpty()) {
             return;
         }
 
-        int cellCount = rows.getFirst().cells().size();
-        for (TableRow row : rows) {
-            if (row.cells().size() != cellCount) {
+        int cellCount = tokens.getFirst().matchedItems().size();
+        for (Token token : tokens) {
+            if (token.matchedItems().size() != cellCount) {
                 throw new AstBuilderException(
-                    "inconsistent cell count within the table", row.location()
+                    "inconsistent cell count within the table", token.location()
                 );
             }
         }
     }
 
 
-    private List<TableCell> cells(Token token) {
-        List<TableCell> cells = new ArrayList<>();
-        for (GherkinLineSpan cellItem : token.matchedItems()) {
-            cells.add(new TableCell(location(token, cellItem.column), cellItem.text));
-        }
-        return cells;
-    }
-
-
     private List<Step> getSteps(AstNode node) {
         return node.getItems(RuleType.STEP);
     }
 
 
     private Location location(Token token, int column) {
-        return column == 0 ? token.location() : new Location(token.location().line(), column);
+        if (!options.retainLocations()) {
+            return new Location(token.lineNumber(), 0);
+        }
+        return column == 0 ? token.location() : new Location(token.lineNumber(), column);
+    }
+
+
+    private int column(int column) {
+        return options.retainLocations() ? column : 0;
     }
 
 
@@ -319,31 +449,57 @@ public class GherkinAstBuilder  {
     private List<Tag> getTags(AstNode node) {
         AstNode tagsNode = node.getSingle(RuleType.TAGS, new AstNode(RuleType.NONE));
         if (tagsNode == null) {
-            return new ArrayList<>();
+            return List.of();
         }
 
         List<Token> tokens = tagsNode.getTokens(TokenType.TAG_LINE);
-        List<Tag> tags = new ArrayList<>();
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        PackedList.Builder<Tag> tags = PackedList.tags();
         for (Token token : tokens) {
             for (GherkinLineSpan tagItem : token.matchedItems()) {
-                tags.add(new Tag(location(token, tagItem.column), tagItem.text));
+                tags.add(token.lineNumber(), column(tagItem.column), interner.intern(tagItem.text));
             }
         }
-        return tags;
+        return shared(tags.build());
     }
 
 
-    
+    @Override
     public GherkinDocument getResult() {
         return currentNode().getSingle(RuleType.GHERKIN_DOCUMENT, null);
     }
 
 
     private List<Comment> comments(AstNode node) {
-        List<Token> tokens = Stream.of(TokenType.values()).map(node::getTokens)
-            .collect(ArrayList::new, List::addAll, List::addAll);
-        return tokens.stream().map(comments::get).filter(Objects::nonNull)
-            .collect(ArrayList::new, List::addAll, List::addAll);
+        PackedList<Comment> single = null;
+        PackedList.Builder<Comment> merged = null;
+        for (TokenType tokenType : TokenType.values()) {
+            for (Token token : node.getTokens(tokenType)) {
+                PackedList<Comment> tokenComments = comments.get(token);
+                if (tokenComments == null) {
+                    continue;
+                }
+                if (single == null) {
+                    single = tokenComments;
+                } else {
+                    if (merged == null) {
+                        merged = PackedList.<Comment>comments().addAll(single);
+                    }
+                    merged.addAll(tokenComments);
+                }
+            }
+        }
+        if (merged != null) {
+            return shared(merged.build());
+        }
+        return single == null ? List.of() : shared(single);
+    }
+
+
+    private <T extends Node> List<T> shared(List<T> list) {
+        return sharing == null ? list : sharing.share(list);
     }
 
 }
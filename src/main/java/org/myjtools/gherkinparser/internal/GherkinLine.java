@@ -5,27 +5,41 @@ import org.myjtools.gherkinparser.GherkinLanguageConstants;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 public class GherkinLine {
 
     private final String lineText;
     private final String trimmedLineText;
+    // symbols before the trimmed text, computed once since every cell and tag depends on it
+    private final int indent;
 
     public GherkinLine(String lineText) {
         this.lineText = lineText;
         this.trimmedLineText = lineText.stripLeading();
+        this.indent = lineText.codePointCount(0, lineText.length() - trimmedLineText.length());
     }
 
     public Integer indent() {
-        return countSymbols(lineText) - countSymbols(trimmedLineText);
+        return indent;
     }
 
 
     public String getLineText(int indentToRemove) {
-        if (indentToRemove < 0 || indentToRemove > indent())
-            return trimmedLineText;
-        return lineText.substring(indentToRemove);
+        return lineText.substring(getLineTextStart(indentToRemove));
+    }
+
+    /**
+     * Index within {@link #text()} where {@link #getLineText(int)} starts, so the line can be
+     * referenced without creating a substring
+     */
+    public int getLineTextStart(int indentToRemove) {
+        if (indentToRemove < 0 || indentToRemove > indent)
+            return lineText.length() - trimmedLineText.length();
+        return indentToRemove;
+    }
+
+    public String text() {
+        return lineText;
     }
 
     public boolean isEmpty() {
@@ -78,7 +92,7 @@ public class GherkinLine {
                 if (beforeFirst) {
                     // Skip the first empty span
                     beforeFirst = false;
-                    cell = new StringBuilder();
+                    cell.setLength(0);
                     col++;
                     continue;
                 }
@@ -90,11 +104,11 @@ public class GherkinLine {
                 if (contentStart == cell.length()) {
                     contentStart = 0;
                 }
-                lineSpans.add(new GherkinLineSpan(indent() + startCol + contentStart + 2, cell.toString().trim()));
+                lineSpans.add(new GherkinLineSpan(indent + startCol + contentStart + 2, cell.toString().trim()));
                 startCol = col;
-                cell = new StringBuilder();
+                cell.setLength(0);
 
-            } else if (c == '\\') {
+            } else if (c == '\\' && col + 1 < trimmedLineText.length()) {
 
                 col++;
                 c = trimmedLineText.charAt(col);
@@ -116,22 +130,54 @@ public class GherkinLine {
     }
 
 
-
-    private List<GherkinLineSpan> getSpans() {
-        List<GherkinLineSpan> lineSpans = new ArrayList<>();
-        try(Scanner scanner = new Scanner(trimmedLineText)) {
-            scanner.useDelimiter("\\s+");
-            while (scanner.hasNext()) {
-                String cell = scanner.next();
-                int column = scanner.match().start() + indent() + 1;
-                lineSpans.add(new GherkinLineSpan(column, cell));
+    /** Number of tags that {@link #getTags()} would return, without creating them */
+    public int getTagCount() {
+        int count = 0;
+        boolean inTag = false;
+        for (int i = 0; i < trimmedLineText.length(); i++) {
+            boolean whitespace = Character.isWhitespace(trimmedLineText.charAt(i));
+            if (!whitespace && !inTag) {
+                count++;
             }
-            return lineSpans;
+            inTag = !whitespace;
+        }
+        return count;
+    }
+
+
+    /** Number of cells that {@link #getTableCells()} would return, without creating them */
+    public int getTableCellCount() {
+        int separators = 0;
+        for (int col = 0; col < trimmedLineText.length(); col++) {
+            char c = trimmedLineText.charAt(col);
+            if (c == '|') {
+                separators++;
+            } else if (c == '\\') {
+                col++;
             }
+        }
+        return Math.max(separators - 1, 0);
     }
 
 
-    private static int countSymbols(String text) {
-        return text.codePointCount(0, text.length());
+
+    private List<GherkinLineSpan> getSpans() {
+        List<GherkinLineSpan> lineSpans = new ArrayList<>();
+        int length = trimmedLineText.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && Character.isWhitespace(trimmedLineText.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && !Character.isWhitespace(trimmedLineText.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                lineSpans.add(new GherkinLineSpan(start + indent + 1, trimmedLineText.substring(start, end)));
+            }
+            start = end;
+        }
+        return lineSpans;
     }
 }
@@ -0,0 +1,28 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import jdk.jfr.FlightRecorder;
+
+
+/**
+ * Guards the creation of the JFR events of the parser. Loading the first event class makes the
+ * JVM initialize the JFR metadata, which takes hundreds of milliseconds and would dominate the
+ * first parse of short-lived processes, so no event is created until the Flight Recorder has
+ * been started, either from the command line, with {@code jcmd} or through its API.
+ * <p>
+ * The {@code jdk.jfr} module is optional, so no event is created either in runtime images
+ * built without it.
+ */
+public final class JfrEvents {
+
+    private static final boolean JFR_PRESENT = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+
+    private JfrEvents() { }
+
+
+    public static boolean available() {
+        return JFR_PRESENT && FlightRecorder.isInitialized();
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.myjtools.gherkinparser.internal;
+
+
+/**
+ * Builder that measures the time spent by another builder and counts the scenarios it
+ * receives, used by the {@link Parser} only when the parse is being monitored
+ */
+class MeasuredAstBuilder<T> implements AstBuilder<T> {
+
+    private final AstBuilder<T> builder;
+    private long nanos;
+    private int scenarios;
+
+
+    MeasuredAstBuilder(AstBuilder<T> builder) {
+        this.builder = builder;
+    }
+
+
+    long nanos() {
+        return nanos;
+    }
+
+
+    /** Scenarios and scenario outlines started */
+    int scenarios() {
+        return scenarios;
+    }
+
+
+    @Override
+    public void reset() {
+        scenarios = 0;
+        long start = System.nanoTime();
+        builder.reset();
+        nanos += System.nanoTime() - start;
+    }
+
+
+    @Override
+    public void build(Token token) {
+        long start = System.nanoTime();
+        try {
+            builder.build(token);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+
+    @Override
+    public void startRule(RuleType ruleType) {
+        if (ruleType == RuleType.SCENARIO || ruleType == RuleType.SCENARIO_OUTLINE) {
+            scenarios++;
+        }
+        long start = System.nanoTime();
+        try {
+            builder.startRule(ruleType);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+
+    @Override
+    public void endRule() {
+        long start = System.nanoTime();
+        try {
+            builder.endRule();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+
+    @Override
+    public T getResult() {
+        long start = System.nanoTime();
+        try {
+            return builder.getResult();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+}
@@ -1,12 +1,29 @@
 package org.myjtools.gherkinparser.internal;
 
 
+import org.myjtools.gherkinparser.GherkinDialectFactory;
+import org.myjtools.gherkinparser.GherkinStats;
 import org.myjtools.gherkinparser.KeywordMapProvider;
+import org.myjtools.gherkinparser.ParseError;
+import org.myjtools.gherkinparser.ParseListener;
+import org.myjtools.gherkinparser.ParseMetrics;
+import org.myjtools.gherkinparser.ParseOptions;
+import org.myjtools.gherkinparser.ParseResult;
 import org.myjtools.gherkinparser.ParserException;
+import org.myjtools.gherkinparser.ResourceLimits;
+import org.myjtools.gherkinparser.StringInterner;
+import org.myjtools.gherkinparser.TableRowConsumer;
+import org.myjtools.gherkinparser.elements.FeatureHeader;
 import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.myjtools.gherkinparser.elements.PackedList;
+import org.myjtools.gherkinparser.elements.StructuralSharing;
+import org.myjtools.gherkinparser.elements.Tag;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.function.ToIntBiFunction;
@@ -70,49 +87,440 @@ public class Parser {
         this::matchTokenAt33
     );
 
+    /** Names of the states, as the path of grammar rules that leads to each one */
+    public static final List<String> STATE_NAMES = List.of(
+        "Start",
+        "Feature:0>Feature_Header:0>#Language:0",
+        "Feature:0>Feature_Header:1>Tags:0>#TagLine:0",
+        "Feature:0>Feature_Header:2>#FeatureLine:0",
+        "Feature:0>Feature_Header:3>DescriptionHelper:1>Description:0>#Other:0",
+        "Feature:0>Feature_Header:3>DescriptionHelper:2>#Comment:0",
+        "Feature:1>Background:0>#BackgroundLine:0",
+        "Feature:1>Background:1>DescriptionHelper:1>Description:0>#Other:0",
+        "Feature:1>Background:1>DescriptionHelper:2>#Comment:0",
+        "Feature:1>Background:2>Step:0>#StepLine:0",
+        "Feature:1>Background:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0",
+        "Feature:2>Scenario_Definition:0>Tags:0>#TagLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:0>#ScenarioLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:1>DescriptionHelper:1>Description:0>#Other:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:1>DescriptionHelper:2>#Comment:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:0>#StepLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:0>#ScenarioOutlineLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:1>DescriptionHelper:1>Description:0>#Other:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:1>DescriptionHelper:2>#Comment:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:0>#StepLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:0>Tags:0>#TagLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:0>#ExamplesLine:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:1>DescriptionHelper:1>Description:0>#Other:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:1>DescriptionHelper:2>#Comment:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:2>Examples_Table:0>#TableRow:0",
+        "EOF",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0",
+        "Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0",
+        "Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0",
+        "Feature:1>Background:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0",
+        "Feature:1>Background:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0"
+    );
+
     record ParserContext(
+        AstBuilder<?> builder,
         TokenScanner tokenScanner,
         TokenMatcher tokenMatcher,
         Queue<Token> tokenQueue,
-        List<ParserException> errors
-    ) { }
+        List<ParseError> errors,
+        int maxErrors,
+        ResourceLimitChecker limitChecker,
+        ScanTimer scanTimer,
+        StateMachineRecorder recorder
+    ) {
+        boolean stopped() {
+            return errors.size() >= maxErrors;
+        }
+    }
 
-    private static final boolean STOP_AT_FIRST_ERROR = false;
+    /** Time spent reading lines, only measured when there is a listener */
+    private static final class ScanTimer {
+        private long nanos;
+    }
+
+    private static final int PROBE_BUFFER_SIZE = 512;
 
-    private final KeywordMapProvider keywordMapProvider;
-    private final GherkinAstBuilder builder = new GherkinAstBuilder();
+    private final GherkinDialectFactory dialectFactory;
+    private final ParseOptions options;
+    private final int maxErrors;
+    private final ResourceLimits limits;
+    private final ParseListener listener;
 
 
 
     public Parser(KeywordMapProvider keywordMapProvider) {
-        this.keywordMapProvider = Objects.requireNonNull(
-            keywordMapProvider,
-            "keywordMapProvider cannot be null"
+        this(keywordMapProvider, StringInterner.none());
+    }
+
+
+    public Parser(KeywordMapProvider keywordMapProvider, StringInterner interner) {
+        this(keywordMapProvider, interner, null);
+    }
+
+
+    public Parser(KeywordMapProvider keywordMapProvider, StringInterner interner, StructuralSharing sharing) {
+        this(keywordMapProvider, ParseOptions.builder().interner(interner).structuralSharing(sharing).build());
+    }
+
+
+    public Parser(KeywordMapProvider keywordMapProvider, ParseOptions options) {
+        this.dialectFactory = new GherkinDialectFactory(
+            Objects.requireNonNull(keywordMapProvider, "keywordMapProvider cannot be null"),
+            "en"
         );
+        this.options = options;
+        this.maxErrors = switch (options.errorMode()) {
+            case FAIL_FAST -> 1;
+            case COLLECT_N -> options.maxErrors();
+            case COLLECT_ALL -> Integer.MAX_VALUE;
+        };
+        this.limits = options.resourceLimits();
+        this.listener = options.listener();
+    }
+
+
+    /** A token matcher sharing the dialects already resolved by this parser */
+    public TokenMatcher newTokenMatcher() {
+        return new TokenMatcher(dialectFactory);
+    }
+
+
+    /**
+     * A scanner for the given stream, counting the bytes read if there is a listener or a
+     * JFR recording to report them to
+     */
+    public TokenScanner newTokenScanner(InputStream inputStream) {
+        return listener == null && !(JfrEvents.available() && new DocumentParseEvent().isEnabled()) ?
+            new TokenScanner(inputStream, limits) :
+            TokenScanner.countingBytes(inputStream, limits);
+    }
+
+
+    /**
+     * Parses the given file, reporting its metrics to the given listener (if any) besides the
+     * one in the options. The path is used as the source name in the metrics and JFR events.
+     */
+    public ParseResult tryParse(Path path, ParseListener extraListener) {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            TokenScanner tokenScanner = TokenScanner.countingBytes(inputStream, limits).sourceName(path.toString());
+            GherkinAstBuilder builder = new GherkinAstBuilder(options);
+            List<ParseError> errors = new ArrayList<>();
+            GherkinDocument document = run(
+                builder, tokenScanner, newTokenMatcher(), errors, new ArrayDeque<>(), extraListener
+            );
+            return new ParseResult(document, errors);
+        } catch (IOException e) {
+            throw new ParserException(e, "Error reading " + path);
+        }
     }
 
 
     public GherkinDocument parse(Reader source) {
-        return parse(new TokenScanner(source));
+        return parse(new TokenScanner(source, limits));
     }
 
     public GherkinDocument parse(InputStream inputStream) {
-        return parse(new TokenScanner(inputStream));
+        return parse(newTokenScanner(inputStream));
+    }
+
+    public GherkinDocument parse(Reader source, TableRowConsumer tableRowConsumer) {
+        return parse(new TokenScanner(source, limits), newTokenMatcher(), tableRowConsumer);
+    }
+
+    public GherkinDocument parse(InputStream inputStream, TableRowConsumer tableRowConsumer) {
+        return parse(newTokenScanner(inputStream), newTokenMatcher(), tableRowConsumer);
     }
 
 
     public GherkinDocument parse(TokenScanner tokenScanner) {
-        return parse(tokenScanner, new TokenMatcher(keywordMapProvider));
+        return parse(tokenScanner, newTokenMatcher());
     }
 
 
     public GherkinDocument parse(TokenScanner tokenScanner, TokenMatcher tokenMatcher) {
+        return parse(tokenScanner, tokenMatcher, null);
+    }
+
+
+    public GherkinDocument parse(
+        TokenScanner tokenScanner,
+        TokenMatcher tokenMatcher,
+        TableRowConsumer tableRowConsumer
+    ) {
+        return tryParse(tokenScanner, tokenMatcher, tableRowConsumer).orElseThrow();
+    }
+
+
+    public ParseResult tryParse(Reader source) {
+        return tryParse(new TokenScanner(source, limits), newTokenMatcher(), null);
+    }
+
+
+    public ParseResult tryParse(InputStream inputStream) {
+        return tryParse(newTokenScanner(inputStream), newTokenMatcher(), null);
+    }
+
+
+    /**
+     * Parses the document without throwing exceptions for syntax errors, which are reported in
+     * the result as {@link ParseError} values
+     */
+    public ParseResult tryParse(
+        TokenScanner tokenScanner,
+        TokenMatcher tokenMatcher,
+        TableRowConsumer tableRowConsumer
+    ) {
+
+        GherkinAstBuilder builder = new GherkinAstBuilder(options);
+        builder.tableRowConsumer(tableRowConsumer);
+        List<ParseError> errors = new ArrayList<>();
+        GherkinDocument document = run(builder, tokenScanner, tokenMatcher, errors, new ArrayDeque<>());
+        return new ParseResult(document, errors);
+    }
+
+
+    public List<ParseError> validate(Reader source) {
+        return validate(new TokenScanner(source, limits), newTokenMatcher());
+    }
+
+
+    public List<ParseError> validate(InputStream inputStream) {
+        return validate(newTokenScanner(inputStream), newTokenMatcher());
+    }
+
+
+    public GherkinStats stats(Reader source) {
+        return stats(new TokenScanner(source, limits), newTokenMatcher());
+    }
+
+
+    public GherkinStats stats(InputStream inputStream) {
+        return stats(newTokenScanner(inputStream), newTokenMatcher());
+    }
+
 
+    /**
+     * Checks the syntax of the document without building the AST
+     * @return the errors found, according to the error mode in use
+     */
+    public List<ParseError> validate(TokenScanner tokenScanner, TokenMatcher tokenMatcher) {
+        List<ParseError> errors = new ArrayList<>();
+        run(new StatsAstBuilder(), tokenScanner, tokenMatcher, errors, new ArrayDeque<>());
+        return List.copyOf(errors);
+    }
+
+
+    /**
+     * Counts the elements of the document without building the AST
+     * @throws ParserException.CompositeParserException if the document is not valid
+     */
+    public GherkinStats stats(TokenScanner tokenScanner, TokenMatcher tokenMatcher) {
+        List<ParseError> errors = new ArrayList<>();
+        GherkinStats stats = run(new StatsAstBuilder(), tokenScanner, tokenMatcher, errors, new ArrayDeque<>());
+        if (!errors.isEmpty()) {
+            throw ParserException.CompositeParserException.of(errors);
+        }
+        return stats;
+    }
+
+
+    public Optional<FeatureHeader> probeHeader(Reader source) {
+        try (source) {
+            return probeHeader(new TokenScanner(source, PROBE_BUFFER_SIZE), newTokenMatcher());
+        } catch (IOException e) {
+            throw new ParserException(e, "Error closing the source");
+        }
+    }
+
+
+    public Optional<FeatureHeader> probeHeader(InputStream inputStream) {
+        try (inputStream) {
+            return probeHeader(new TokenScanner(inputStream, PROBE_BUFFER_SIZE), newTokenMatcher());
+        } catch (IOException e) {
+            throw new ParserException(e, "Error closing the source");
+        }
+    }
+
+
+    /**
+     * Reads the feature header, stopping at the first line that does not belong to it: a
+     * background, scenario or scenario outline line, or the tags of the first scenario.
+     * @return the feature header, or empty if the document has no feature
+     * @throws ParserException.CompositeParserException if the header is not valid
+     */
+    public Optional<FeatureHeader> probeHeader(TokenScanner tokenScanner, TokenMatcher tokenMatcher) {
+        tokenMatcher.reset();
+        PackedList.Builder<Tag> tags = PackedList.tags();
+        Token token = tokenScanner.read();
+        while (!tokenMatcher.matchEOF(token)) {
+            if (tokenMatcher.matchFeatureLine(token)) {
+                break;
+            }
+            if (tokenMatcher.matchTagLine(token)) {
+                for (GherkinLineSpan tag : token.matchedItems()) {
+                    tags.add(token.lineNumber(), tag.column, tag.text);
+                }
+            } else if (!tokenMatcher.matchLanguage(token) &&
+                !tokenMatcher.matchComment(token) &&
+                !tokenMatcher.matchEmpty(token)) {
+                throw ParserException.CompositeParserException.of(List.of(UnexpectedTokenException.parseError(
+                    token, asList(EOF, LANGUAGE, TAG_LINE, FEATURE_LINE, COMMENT, EMPTY)
+                )));
+            }
+            token = tokenScanner.read();
+        }
+        if (token.isEOF()) {
+            return Optional.empty();
+        }
+        Token featureLine = token;
+        List<String> description = new ArrayList<>();
+        boolean descriptionEnded = false;
+        for (token = tokenScanner.read(); !token.isEOF(); token = tokenScanner.read()) {
+            if (tokenMatcher.matchBackgroundLine(token) ||
+                tokenMatcher.matchTagLine(token) ||
+                tokenMatcher.matchScenarioLine(token) ||
+                tokenMatcher.matchScenarioOutlineLine(token)) {
+                break;
+            }
+            if (tokenMatcher.matchComment(token)) {
+                descriptionEnded = !description.isEmpty();
+            } else if (!descriptionEnded && !(description.isEmpty() && tokenMatcher.matchEmpty(token))) {
+                description.add(token.line().text());
+            }
+        }
+        int end = description.size();
+        while (end > 0 && description.get(end - 1).isBlank()) {
+            end--;
+        }
+        return Optional.of(new FeatureHeader(
+            featureLine.location(),
+            tags.build(),
+            featureLine.matchedKeyword(),
+            featureLine.matchedText(),
+            String.join("\n", description.subList(0, end)).strip(),
+            featureLine.matchedGherkinDialect().language()
+        ));
+    }
+
+
+    /**
+     * Runs the grammar over the tokens, passing them to the given builder. The matcher, the
+     * builder and the scratch collections are reset, so they can be reused among invocations.
+     * @param errors list where the errors found are added
+     * @param tokenQueue scratch queue used for lookahead
+     * @return the result of the builder, or {@code null} if any error was found
+     */
+    public <T> T run(
+        AstBuilder<T> builder,
+        TokenScanner tokenScanner,
+        TokenMatcher tokenMatcher,
+        List<ParseError> errors,
+        Queue<Token> tokenQueue
+    ) {
+        return run(builder, tokenScanner, tokenMatcher, errors, tokenQueue, null);
+    }
+
+
+    /**
+     * Same as {@link #run(AstBuilder, TokenScanner, TokenMatcher, List, Queue)}, also passing
+     * the metrics of the parse to the given listener, in addition to the one in the options.
+     * The parse is only measured when there is any listener or the JFR event is enabled.
+     */
+    public <T> T run(
+        AstBuilder<T> builder,
+        TokenScanner tokenScanner,
+        TokenMatcher tokenMatcher,
+        List<ParseError> errors,
+        Queue<Token> tokenQueue,
+        ParseListener extraListener
+    ) {
+        var event = JfrEvents.available() ? new DocumentParseEvent() : null;
+        if (listener == null && extraListener == null && (event == null || !event.isEnabled())) {
+            return run(builder, tokenScanner, tokenMatcher, errors, tokenQueue, null, null);
+        }
+        if (event != null) {
+            event.begin();
+        }
+        if (listener != null) {
+            listener.parseStarted();
+        }
+        if (extraListener != null) {
+            extraListener.parseStarted();
+        }
+        var measuredBuilder = new MeasuredAstBuilder<>(builder);
+        var scanTimer = new ScanTimer();
+        // the profile is only reported to listeners, JFR events do not carry it
+        boolean profiled = options.profileStateMachine() && (listener != null || extraListener != null);
+        var recorder = profiled ?
+            new StateMachineRecorder(STATE_NAMES.size(), options.stateMachineTraceSize()) :
+            null;
+        long start = System.nanoTime();
+        boolean aborted = true;
+        try {
+            T result = run(measuredBuilder, tokenScanner, tokenMatcher, errors, tokenQueue, scanTimer, recorder);
+            aborted = false;
+            return result;
+        } finally {
+            long total = System.nanoTime() - start;
+            var metrics = new ParseMetrics(
+                tokenScanner.sourceName(),
+                tokenScanner.bytesRead(),
+                tokenScanner.linesRead(),
+                tokenMatcher.getCurrentDialect().language(),
+                measuredBuilder.scenarios(),
+                aborted ? Math.max(errors.size(), 1) : errors.size(),
+                scanTimer.nanos,
+                total - scanTimer.nanos - measuredBuilder.nanos(),
+                measuredBuilder.nanos(),
+                total,
+                recorder == null ? null : recorder.profile(STATE_NAMES)
+            );
+            if (listener != null) {
+                listener.parseFinished(metrics);
+            }
+            if (extraListener != null) {
+                extraListener.parseFinished(metrics);
+            }
+            if (event != null && event.shouldCommit()) {
+                event.source = metrics.source();
+                event.bytes = metrics.bytes();
+                event.lines = metrics.lines();
+                event.scenarios = metrics.scenarios();
+                event.errors = metrics.errors();
+                event.language = metrics.language();
+                event.commit();
+            }
+        }
+    }
+
+
+    private <T> T run(
+        AstBuilder<T> builder,
+        TokenScanner tokenScanner,
+        TokenMatcher tokenMatcher,
+        List<ParseError> errors,
+        Queue<Token> tokenQueue,
+        ScanTimer scanTimer,
+        StateMachineRecorder recorder
+    ) {
+        errors.clear();
+        tokenQueue.clear();
         builder.reset();
         tokenMatcher.reset();
 
         ParserContext context = new ParserContext(
-            tokenScanner, tokenMatcher, new LinkedList<>(), new ArrayList<>()
+            builder, tokenScanner, tokenMatcher, tokenQueue, errors, maxErrors,
+            limits.isUnlimited() ? null : new ResourceLimitChecker(limits),
+            scanTimer,
+            recorder
         );
 
         startRule(context, RuleType.GHERKIN_DOCUMENT);
@@ -121,22 +529,20 @@ public class Parser {
         do {
             token = readToken(context);
             state = matchToken(state, token, context);
-        } while (!token.isEOF());
+        } while (!token.isEOF() && !context.stopped());
 
-        endRule(context);
-
-        if (!context.errors.isEmpty()) {
-            throw new ParserException.CompositeParserException(context.errors);
+        if (!context.stopped()) {
+            endRule(context);
         }
 
-        return builder.getResult();
+        return errors.isEmpty() ? builder.getResult() : null;
     }
 
 
-    private void addError(ParserContext context, ParserException error) {
-        context.errors.add(error);
-        if (context.errors.size() > 10)
-            throw new ParserException.CompositeParserException(context.errors);
+    private void addError(ParserContext context, ParseError error) {
+        if (!context.stopped()) {
+            context.errors.add(error);
+        }
     }
 
 
@@ -149,77 +555,104 @@ public class Parser {
 
 
     private <V> V handleExternalError(ParserContext context, Supplier<V> action, V defaultValue) {
-        if (STOP_AT_FIRST_ERROR) {
-            return action.get();
-        }
-
         try {
             return action.get();
         } catch (ParserException.CompositeParserException compositeParserException) {
-            for (ParserException error : compositeParserException.getErrors()) {
+            for (ParseError error : compositeParserException.getParseErrors()) {
                 addError(context, error);
             }
         } catch (ParserException error) {
-            addError(context, error);
+            addError(context, ParseError.of(error));
         }
         return defaultValue;
     }
 
 
     private void build(final ParserContext context, final Token token) {
-        handleAstError(context, () -> builder.build(token));
+        if (context.limitChecker != null) {
+            // not handled as a syntax error, the parse must stop right away
+            context.limitChecker.check(token);
+        }
+        handleAstError(context, () -> context.builder.build(token));
     }
 
 
     private void startRule(final ParserContext context, final RuleType ruleType) {
-        handleAstError(context, () -> builder.startRule(ruleType));
+        if (context.limitChecker != null) {
+            context.limitChecker.startRule(ruleType);
+        }
+        handleAstError(context, () -> context.builder.startRule(ruleType));
     }
 
 
     private void endRule(final ParserContext context) {
-        handleAstError(context, builder::endRule);
+        handleAstError(context, context.builder::endRule);
     }
 
 
     private Token readToken(ParserContext context) {
-        return !context.tokenQueue.isEmpty() ? context.tokenQueue.remove()
-            : context.tokenScanner.read();
+        if (!context.tokenQueue.isEmpty()) {
+            return context.tokenQueue.remove();
+        }
+        if (context.scanTimer == null) {
+            return context.tokenScanner.read();
+        }
+        long start = System.nanoTime();
+        Token token = context.tokenScanner.read();
+        context.scanTimer.nanos += System.nanoTime() - start;
+        return token;
     }
 
 
     private boolean matchEOF(final ParserContext context, final Token token) {
-        return handleExternalError(context, () -> context.tokenMatcher.matchEOF(token), false);
+        return matched(
+            context,
+            TokenType.EOF,
+            handleExternalError(context, () -> context.tokenMatcher.matchEOF(token), false)
+        );
     }
 
 
     private boolean matchEmpty(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchEmpty(token), false);
+        return matched(
+            context,
+            TokenType.EMPTY,
+            handleExternalError(context, () -> context.tokenMatcher.matchEmpty(token), false)
+        );
     }
 
 
     private boolean matchComment(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchComment(token), false);
+        return matched(
+            context,
+            TokenType.COMMENT,
+            handleExternalError(context, () -> context.tokenMatcher.matchComment(token), false)
+        );
     }
 
 
     private boolean matchTagLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchTagLine(token), false);
+        return matched(
+            context,
+            TokenType.TAG_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchTagLine(token), false)
+        );
     }
 
 
     private boolean matchFeatureLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(
+        return matched(
             context,
-            () -> context.tokenMatcher.matchFeatureLine(token),
-            false
+            TokenType.FEATURE_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchFeatureLine(token), false)
         );
     }
 
@@ -227,10 +660,10 @@ public class Parser {
     private boolean matchBackgroundLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(
+        return matched(
             context,
-            () -> context.tokenMatcher.matchBackgroundLine(token),
-            false
+            TokenType.BACKGROUND_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchBackgroundLine(token), false)
         );
     }
 
@@ -238,10 +671,10 @@ public class Parser {
     private boolean matchScenarioLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(
+        return matched(
             context,
-            () -> context.tokenMatcher.matchScenarioLine(token),
-            false
+            TokenType.SCENARIO_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchScenarioLine(token), false)
         );
     }
 
@@ -249,10 +682,10 @@ public class Parser {
     private boolean matchScenarioOutlineLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(
+        return matched(
             context,
-            () -> context.tokenMatcher.matchScenarioOutlineLine(token),
-            false
+            TokenType.SCENARIO_OUTLINE_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchScenarioOutlineLine(token), false)
         );
     }
 
@@ -260,10 +693,10 @@ public class Parser {
     private boolean matchExamplesLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(
+        return matched(
             context,
-            () -> context.tokenMatcher.matchExamplesLine(token),
-            false
+            TokenType.EXAMPLES_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchExamplesLine(token), false)
         );
     }
 
@@ -271,17 +704,21 @@ public class Parser {
     private boolean matchStepLine(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchStepLine(token), false);
+        return matched(
+            context,
+            TokenType.STEP_LINE,
+            handleExternalError(context, () -> context.tokenMatcher.matchStepLine(token), false)
+        );
     }
 
 
     private boolean matchDocStringSeparator(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(
+        return matched(
             context,
-            () -> context.tokenMatcher.matchDocStringSeparator(token),
-            false
+            TokenType.DOC_STRING_SEPARATOR,
+            handleExternalError(context, () -> context.tokenMatcher.matchDocStringSeparator(token), false)
         );
     }
 
@@ -289,21 +726,41 @@ public class Parser {
     private boolean matchTableRow(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchTableRow(token), false);
+        return matched(
+            context,
+            TokenType.TABLE_ROW,
+            handleExternalError(context, () -> context.tokenMatcher.matchTableRow(token), false)
+        );
     }
 
 
     private boolean matchLanguage(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchLanguage(token), false);
+        return matched(
+            context,
+            TokenType.LANGUAGE,
+            handleExternalError(context, () -> context.tokenMatcher.matchLanguage(token), false)
+        );
     }
 
 
     private boolean matchOther(final ParserContext context, final Token token) {
         if (token.isEOF())
             return false;
-        return handleExternalError(context, () -> context.tokenMatcher.matchOther(token), false);
+        return matched(
+            context,
+            TokenType.OTHER,
+            handleExternalError(context, () -> context.tokenMatcher.matchOther(token), false)
+        );
+    }
+
+
+    private static boolean matched(ParserContext context, TokenType tokenType, boolean matched) {
+        if (context.recorder != null) {
+            context.recorder.match(tokenType, matched);
+        }
+        return matched;
     }
 
 
@@ -311,7 +768,11 @@ public class Parser {
         if (state > stateMatchers.size() - 1) {
             throw new IllegalStateException("Unknown state: " + state);
         }
-        return stateMatchers.get(state).applyAsInt(token,context);
+        int next = stateMatchers.get(state).applyAsInt(token,context);
+        if (context.recorder != null) {
+            context.recorder.transition(state, next, token);
+        }
+        return next;
     }
 
 
@@ -349,8 +810,7 @@ public class Parser {
             return 0;
         }
 
-        final String stateComment = "State: 0 - Start";
-
+        // State: 0 - Start
         List<String> expectedTokens = asList(
             EOF,
             LANGUAGE,
@@ -359,13 +819,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 0;
 
     }
@@ -391,16 +848,12 @@ public class Parser {
             return 1;
         }
 
-        final String stateComment = "State: 1 - GherkinDocument:0>Feature:0>Feature_Header:0>#Language:0";
-
+        // State: 1 - GherkinDocument:0>Feature:0>Feature_Header:0>#Language:0
         List<String> expectedTokens = asList(TAG_LINE, FEATURE_LINE, COMMENT, EMPTY);
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 1;
 
     }
@@ -426,16 +879,12 @@ public class Parser {
             return 2;
         }
 
-        final String stateComment = "State: 2 - GherkinDocument:0>Feature:0>Feature_Header:1>Tags:0>#TagLine:0";
-
+        // State: 2 - GherkinDocument:0>Feature:0>Feature_Header:1>Tags:0>#TagLine:0
         List<String> expectedTokens = asList(TAG_LINE, FEATURE_LINE, COMMENT, EMPTY);
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 2;
 
     }
@@ -490,8 +939,7 @@ public class Parser {
             return 4;
         }
 
-        final String stateComment = "State: 3 - GherkinDocument:0>Feature:0>Feature_Header:2>#FeatureLine:0";
-
+        // State: 3 - GherkinDocument:0>Feature:0>Feature_Header:2>#FeatureLine:0
         List<String> expectedTokens = asList(
             EOF,
             EMPTY,
@@ -502,13 +950,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 3;
 
     }
@@ -564,8 +1009,7 @@ public class Parser {
             return 4;
         }
 
-        final String stateComment = "State: 4 - GherkinDocument:0>Feature:0>Feature_Header:3>DescriptionHelper:1>Description:0>#Other:0";
-
+        // State: 4 - GherkinDocument:0>Feature:0>Feature_Header:3>DescriptionHelper:1>Description:0>#Other:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -575,13 +1019,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 4;
 
     }
@@ -631,8 +1072,7 @@ public class Parser {
             return 5;
         }
 
-        final String stateComment = "State: 5 - GherkinDocument:0>Feature:0>Feature_Header:3>DescriptionHelper:2>#Comment:0";
-
+        // State: 5 - GherkinDocument:0>Feature:0>Feature_Header:3>DescriptionHelper:2>#Comment:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -642,13 +1082,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 5;
 
     }
@@ -702,8 +1139,7 @@ public class Parser {
             return 7;
         }
 
-        final String stateComment = "State: 6 - GherkinDocument:0>Feature:1>Background:0>#BackgroundLine:0";
-
+        // State: 6 - GherkinDocument:0>Feature:1>Background:0>#BackgroundLine:0
         List<String> expectedTokens = asList(
             EOF,
             EMPTY,
@@ -714,13 +1150,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 6;
 
     }
@@ -775,8 +1208,7 @@ public class Parser {
             return 7;
         }
 
-        final String stateComment = "State: 7 - GherkinDocument:0>Feature:1>Background:1>DescriptionHelper:1>Description:0>#Other:0";
-
+        // State: 7 - GherkinDocument:0>Feature:1>Background:1>DescriptionHelper:1>Description:0>#Other:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -786,13 +1218,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 7;
 
     }
@@ -841,8 +1270,7 @@ public class Parser {
             return 8;
         }
 
-        final String stateComment = "State: 8 - GherkinDocument:0>Feature:1>Background:1>DescriptionHelper:2>#Comment:0";
-
+        // State: 8 - GherkinDocument:0>Feature:1>Background:1>DescriptionHelper:2>#Comment:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -852,13 +1280,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 8;
 
     }
@@ -922,8 +1347,7 @@ public class Parser {
             return 9;
         }
 
-        final String stateComment = "State: 9 - GherkinDocument:0>Feature:1>Background:2>Step:0>#StepLine:0";
-
+        // State: 9 - GherkinDocument:0>Feature:1>Background:2>Step:0>#StepLine:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -935,13 +1359,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 9;
 
     }
@@ -1004,8 +1425,7 @@ public class Parser {
             return 10;
         }
 
-        final String stateComment = "State: 10 - GherkinDocument:0>Feature:1>Background:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0";
-
+        // State: 10 - GherkinDocument:0>Feature:1>Background:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -1016,13 +1436,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 10;
 
     }
@@ -1055,8 +1472,7 @@ public class Parser {
             return 11;
         }
 
-        final String stateComment = "State: 11 - GherkinDocument:0>Feature:2>Scenario_Definition:0>Tags:0>#TagLine:0";
-
+        // State: 11 - GherkinDocument:0>Feature:2>Scenario_Definition:0>Tags:0>#TagLine:0
         List<String> expectedTokens = asList(
             TAG_LINE,
             SCENARIO_LINE,
@@ -1064,13 +1480,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 11;
 
     }
@@ -1128,8 +1541,7 @@ public class Parser {
             return 13;
         }
 
-        final String stateComment = "State: 12 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:0>#ScenarioLine:0";
-
+        // State: 12 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:0>#ScenarioLine:0
         List<String> expectedTokens = asList(
             EOF,
             EMPTY,
@@ -1140,13 +1552,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 12;
 
     }
@@ -1205,8 +1614,7 @@ public class Parser {
             return 13;
         }
 
-        final String stateComment = "State: 13 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:1>DescriptionHelper:1>Description:0>#Other:0";
-
+        // State: 13 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:1>DescriptionHelper:1>Description:0>#Other:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -1216,13 +1624,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 13;
 
     }
@@ -1275,8 +1680,7 @@ public class Parser {
             return 14;
         }
 
-        final String stateComment = "State: 14 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:1>DescriptionHelper:2>#Comment:0";
-
+        // State: 14 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:1>DescriptionHelper:2>#Comment:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -1286,13 +1690,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 14;
 
     }
@@ -1360,8 +1761,7 @@ public class Parser {
             return 15;
         }
 
-        final String stateComment = "State: 15 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:0>#StepLine:0";
-
+        // State: 15 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:0>#StepLine:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -1373,13 +1773,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 15;
 
     }
@@ -1446,8 +1843,7 @@ public class Parser {
             return 16;
         }
 
-        final String stateComment = "State: 16 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0";
-
+        // State: 16 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -1458,13 +1854,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 16;
 
     }
@@ -1534,8 +1927,7 @@ public class Parser {
             return 18;
         }
 
-        final String stateComment = "State: 17 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:0>#ScenarioOutlineLine:0";
-
+        // State: 17 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:0>#ScenarioOutlineLine:0
         List<String> expectedTokens = asList(
             EOF,
             EMPTY,
@@ -1547,13 +1939,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 17;
 
     }
@@ -1626,8 +2015,7 @@ public class Parser {
             return 18;
         }
 
-        final String stateComment = "State: 18 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:1>DescriptionHelper:1>Description:0>#Other:0";
-
+        // State: 18 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:1>DescriptionHelper:1>Description:0>#Other:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -1638,13 +2026,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 18;
 
     }
@@ -1709,8 +2094,7 @@ public class Parser {
             return 19;
         }
 
-        final String stateComment = "State: 19 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:1>DescriptionHelper:2>#Comment:0";
-
+        // State: 19 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:1>DescriptionHelper:2>#Comment:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -1721,13 +2105,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 19;
 
     }
@@ -1809,8 +2190,7 @@ public class Parser {
             return 20;
         }
 
-        final String stateComment = "State: 20 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:0>#StepLine:0";
-
+        // State: 20 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:0>#StepLine:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -1823,13 +2203,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 20;
 
     }
@@ -1912,8 +2289,7 @@ public class Parser {
             return 21;
         }
 
-        final String stateComment = "State: 21 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0";
-
+        // State: 21 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:0>DataTable:0>#TableRow:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -1925,13 +2301,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 21;
 
     }
@@ -1958,16 +2331,12 @@ public class Parser {
             return 22;
         }
 
-        final String stateComment = "State: 22 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:0>Tags:0>#TagLine:0";
-
+        // State: 22 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:0>Tags:0>#TagLine:0
         List<String> expectedTokens = asList(TAG_LINE, EXAMPLES_LINE, COMMENT, EMPTY);
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 22;
 
     }
@@ -2049,8 +2418,7 @@ public class Parser {
             return 24;
         }
 
-        final String stateComment = "State: 23 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:0>#ExamplesLine:0";
-
+        // State: 23 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:0>#ExamplesLine:0
         List<String> expectedTokens = asList(
             EOF,
             EMPTY,
@@ -2062,13 +2430,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 23;
 
     }
@@ -2153,8 +2518,7 @@ public class Parser {
             return 24;
         }
 
-        final String stateComment = "State: 24 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:1>DescriptionHelper:1>Description:0>#Other:0";
-
+        // State: 24 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:1>DescriptionHelper:1>Description:0>#Other:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -2165,13 +2529,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             OTHER
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 24;
 
     }
@@ -2248,8 +2609,7 @@ public class Parser {
             return 25;
         }
 
-        final String stateComment = "State: 25 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:1>DescriptionHelper:2>#Comment:0";
-
+        // State: 25 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:1>DescriptionHelper:2>#Comment:0
         List<String> expectedTokens = asList(
             EOF,
             COMMENT,
@@ -2260,13 +2620,10 @@ public class Parser {
             SCENARIO_OUTLINE_LINE,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 25;
 
     }
@@ -2348,8 +2705,7 @@ public class Parser {
             return 26;
         }
 
-        final String stateComment = "State: 26 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:2>Examples_Table:0>#TableRow:0";
-
+        // State: 26 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:3>Examples_Definition:1>Examples:2>Examples_Table:0>#TableRow:0
         List<String> expectedTokens = asList(
             EOF,
             TABLE_ROW,
@@ -2360,13 +2716,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 26;
 
     }
@@ -2383,16 +2736,12 @@ public class Parser {
             return 28;
         }
 
-        final String stateComment = "State: 28 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0";
-
+        // State: 28 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0
         List<String> expectedTokens = asList(DOC_STRING_SEPARATOR, OTHER);
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 28;
 
     }
@@ -2471,8 +2820,7 @@ public class Parser {
             return 29;
         }
 
-        final String stateComment = "State: 29 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0";
-
+        // State: 29 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:1>ScenarioOutline:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0
         List<String> expectedTokens = asList(
             EOF,
             STEP_LINE,
@@ -2483,13 +2831,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 29;
 
     }
@@ -2506,16 +2851,12 @@ public class Parser {
             return 30;
         }
 
-        final String stateComment = "State: 30 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0";
-
+        // State: 30 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0
         List<String> expectedTokens = asList(DOC_STRING_SEPARATOR, OTHER);
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 30;
 
     }
@@ -2578,8 +2919,7 @@ public class Parser {
             return 31;
         }
 
-        final String stateComment = "State: 31 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0";
-
+        // State: 31 - GherkinDocument:0>Feature:2>Scenario_Definition:1>alt0:0>Scenario:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0
         List<String> expectedTokens = asList(
             EOF,
             STEP_LINE,
@@ -2589,13 +2929,10 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 31;
 
     }
@@ -2612,16 +2949,12 @@ public class Parser {
             return 32;
         }
 
-        final String stateComment = "State: 32 - GherkinDocument:0>Feature:1>Background:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0";
-
+        // State: 32 - GherkinDocument:0>Feature:1>Background:2>Step:1>StepArg:0>alt1:1>DocString:0>#DocStringSeparator:0
         List<String> expectedTokens = asList(DOC_STRING_SEPARATOR, OTHER);
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 32;
 
     }
@@ -2680,8 +3013,7 @@ public class Parser {
             return 33;
         }
 
-        final String stateComment = "State: 33 - GherkinDocument:0>Feature:1>Background:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0";
-
+        // State: 33 - GherkinDocument:0>Feature:1>Background:2>Step:1>StepArg:0>alt1:1>DocString:2>#DocStringSeparator:0
         List<String> expectedTokens = asList(
             EOF,
             STEP_LINE,
@@ -2691,19 +3023,19 @@ public class Parser {
             COMMENT,
             EMPTY
         );
-        ParserException error = token.isEOF()
-            ? new UnexpectedEOFException(token, expectedTokens, stateComment)
-            : new UnexpectedTokenException(token, expectedTokens);
-        if (STOP_AT_FIRST_ERROR)
-            throw error;
-
-        addError(context, error);
+        addError(context, token.isEOF()
+            ? UnexpectedEOFException.parseError(token, expectedTokens)
+            : UnexpectedTokenException.parseError(token, expectedTokens)
+        );
         return 33;
 
     }
 
 
     private boolean lookahead0(ParserContext context) {
+        if (context.recorder != null) {
+            context.recorder.lookahead();
+        }
         Token token;
         Queue<Token> queue = new ArrayDeque<>();
         boolean match = false;
@@ -0,0 +1,37 @@
+package org.myjtools.gherkinparser.internal;
+
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordType;
+
+import java.util.List;
+
+
+/**
+ * Keyword map of a dialect compiled at build time by {@link DialectTables}. Besides the
+ * keywords of each type, already flattened for the composite types, it holds them sorted
+ * longest first, so the dialect is ready without any further processing.
+ */
+public final class PrecompiledKeywordMap implements KeywordMap {
+
+    private final List<String>[] keywords;
+    private final List<String>[] keywordsLongestFirst;
+
+
+    /** Both arrays are indexed by the ordinal of the keyword type */
+    PrecompiledKeywordMap(List<String>[] keywords, List<String>[] keywordsLongestFirst) {
+        this.keywords = keywords;
+        this.keywordsLongestFirst = keywordsLongestFirst;
+    }
+
+
+    @Override
+    public List<String> keywords(KeywordType keywordType) {
+        return keywords[keywordType.ordinal()];
+    }
+
+
+    public List<String> keywordsLongestFirst(KeywordType keywordType) {
+        return keywordsLongestFirst[keywordType.ordinal()];
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.myjtools.gherkinparser.internal;
+
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordMapProvider;
+import org.myjtools.gherkinparser.KeywordType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+
+/**
+ * Reads the keywords of each language from a {@code gherkin_<language>.properties} resource,
+ * with a line per keyword type and the keywords separated by commas
+ */
+public class PropertiesKeywordMapProvider implements KeywordMapProvider {
+
+    private final ClassLoader classLoader;
+
+
+    public PropertiesKeywordMapProvider(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+
+    @Override
+    public Optional<KeywordMap> keywordMap(Locale locale) {
+        var resourceFile = "gherkin_" + locale.getLanguage() + ".properties";
+        var url = classLoader.getResource(resourceFile);
+        if (url == null) {
+            return Optional.empty();
+        }
+        try (var reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            var map = new EnumMap<KeywordType, List<String>>(KeywordType.class);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("=");
+                String keyword = parts[0];
+                String[] values = parts[1].split(",");
+                map.put(KeywordType.of(keyword), List.of(values));
+            }
+            return Optional.of(map::get);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import org.myjtools.gherkinparser.ResourceLimitException;
+import org.myjtools.gherkinparser.ResourceLimits;
+
+
+/**
+ * Checks the limits that depend on the structure of the document, as the tokens are recognized
+ * by the parser. Line length and file size are checked by the {@link TokenScanner}.
+ */
+class ResourceLimitChecker {
+
+    private final ResourceLimits limits;
+    private long tableCells;
+    private long docStringSize;
+    private boolean inDocString;
+    private int docStringIndent;
+    private int docStringLines;
+    private int scenarios;
+
+
+    ResourceLimitChecker(ResourceLimits limits) {
+        this.limits = limits;
+    }
+
+
+    void startRule(RuleType ruleType) {
+        if (ruleType == RuleType.DATA_TABLE || ruleType == RuleType.EXAMPLES_TABLE) {
+            tableCells = 0;
+        }
+    }
+
+
+    void check(Token token) {
+        switch (token.matchedType()) {
+            case TABLE_ROW -> {
+                tableCells += token.line().getTableCellCount();
+                if (tableCells > limits.maxTableCells()) {
+                    throw exceeded("table cells", limits.maxTableCells(), token);
+                }
+            }
+            case TAG_LINE -> {
+                if (token.line().getTagCount() > limits.maxTagsPerLine()) {
+                    throw exceeded("tags per line", limits.maxTagsPerLine(), token);
+                }
+            }
+            case SCENARIO_LINE, SCENARIO_OUTLINE_LINE -> {
+                if (++scenarios > limits.maxScenariosPerFeature()) {
+                    throw exceeded("scenarios per feature", limits.maxScenariosPerFeature(), token);
+                }
+            }
+            case DOC_STRING_SEPARATOR -> {
+                inDocString = !inDocString;
+                docStringIndent = token.line().indent();
+                docStringLines = 0;
+                docStringSize = 0;
+            }
+            case OTHER -> {
+                if (inDocString) {
+                    // same size as the content once the doc string indent is removed
+                    GherkinLine line = token.line();
+                    docStringSize += line.text().length() - line.getLineTextStart(docStringIndent);
+                    if (docStringLines++ > 0) {
+                        docStringSize++;
+                    }
+                    if (docStringSize > limits.maxDocStringSize()) {
+                        throw exceeded("doc string size", limits.maxDocStringSize(), token);
+                    }
+                }
+            }
+            default -> { }
+        }
+    }
+
+
+    private static ResourceLimitException exceeded(String limit, long value, Token token) {
+        return new ResourceLimitException(limit, value, token.location());
+    }
+
+}
@@ -36,7 +36,9 @@ public enum RuleType {
     ;
 
 
+    private static final RuleType[] VALUES = values();
+
     public static RuleType cast(TokenType tokenType) {
-        return RuleType.values()[tokenType.ordinal()];
+        return VALUES[tokenType.ordinal()];
     }
 }
@@ -0,0 +1,87 @@
+package org.myjtools.gherkinparser.internal;
+
+import org.myjtools.gherkinparser.StateMachineProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Counts the states, transitions, matcher invocations and lookaheads of a single parse, and
+ * keeps its last transitions in a ring buffer. Only created by the {@link Parser} when the
+ * state machine is being profiled.
+ */
+final class StateMachineRecorder {
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private final int states;
+    private final long[] visits;
+    private final long[] transitions;
+    private final long[] attempts = new long[TOKEN_TYPES.length];
+    private final long[] successes = new long[TOKEN_TYPES.length];
+    private long lookaheads;
+
+    // ring buffer of the last transitions
+    private final int[] traceLines;
+    private final byte[] traceFrom;
+    private final byte[] traceTo;
+    private final byte[] traceTokens;
+    private long traced;
+
+
+    StateMachineRecorder(int states, int traceSize) {
+        this.states = states;
+        this.visits = new long[states];
+        this.transitions = new long[states * states];
+        this.traceLines = new int[traceSize];
+        this.traceFrom = new byte[traceSize];
+        this.traceTo = new byte[traceSize];
+        this.traceTokens = new byte[traceSize];
+    }
+
+
+    void match(TokenType tokenType, boolean matched) {
+        attempts[tokenType.ordinal()]++;
+        if (matched) {
+            successes[tokenType.ordinal()]++;
+        }
+    }
+
+
+    void transition(int from, int to, Token token) {
+        visits[from]++;
+        transitions[from * states + to]++;
+        if (traceLines.length > 0) {
+            int slot = (int) (traced % traceLines.length);
+            traceLines[slot] = token.lineNumber();
+            traceFrom[slot] = (byte) from;
+            traceTo[slot] = (byte) to;
+            traceTokens[slot] = (byte) (token.matchedType() == null ? TokenType.NONE : token.matchedType()).ordinal();
+        }
+        traced++;
+    }
+
+
+    void lookahead() {
+        lookaheads++;
+    }
+
+
+    StateMachineProfile profile(List<String> stateNames) {
+        List<String> matchers = new ArrayList<>();
+        for (TokenType tokenType : TOKEN_TYPES) {
+            matchers.add(tokenType.name());
+        }
+        int size = (int) Math.min(traced, traceLines.length);
+        List<StateMachineProfile.Transition> trace = new ArrayList<>(size);
+        for (long i = traced - size; i < traced; i++) {
+            int slot = (int) (i % traceLines.length);
+            trace.add(new StateMachineProfile.Transition(
+                traceLines[slot], traceFrom[slot], traceTo[slot], TOKEN_TYPES[traceTokens[slot]].name()
+            ));
+        }
+        return new StateMachineProfile(stateNames, matchers, visits, transitions, attempts, successes, lookaheads, trace);
+    }
+
+}
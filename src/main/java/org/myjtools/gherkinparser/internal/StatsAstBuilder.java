@@ -0,0 +1,99 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import org.myjtools.gherkinparser.GherkinStats;
+
+import java.util.Arrays;
+
+
+/**
+ * Builder that counts the elements of the document instead of creating the AST. Table rows are
+ * still checked to have a consistent cell count, so the reported errors are the same as when
+ * building the whole document.
+ */
+public class StatsAstBuilder implements AstBuilder<GherkinStats> {
+
+    private RuleType[] rules = new RuleType[16];
+    private int depth;
+    private int features;
+    private int backgrounds;
+    private int scenarios;
+    private int scenarioOutlines;
+    private int steps;
+    private int examplesRows;
+    private int tags;
+    private int tableRows;
+    private int tableCellCount;
+
+
+    public StatsAstBuilder() {
+        reset();
+    }
+
+
+    @Override
+    public void reset() {
+        depth = 0;
+        features = 0;
+        backgrounds = 0;
+        scenarios = 0;
+        scenarioOutlines = 0;
+        steps = 0;
+        examplesRows = 0;
+        tags = 0;
+    }
+
+
+    @Override
+    public void build(Token token) {
+        switch (token.matchedType()) {
+            case FEATURE_LINE -> features++;
+            case BACKGROUND_LINE -> backgrounds++;
+            case SCENARIO_LINE -> scenarios++;
+            case SCENARIO_OUTLINE_LINE -> scenarioOutlines++;
+            case STEP_LINE -> steps++;
+            case TAG_LINE -> tags += token.line().getTagCount();
+            case TABLE_ROW -> tableRow(token);
+            default -> { }
+        }
+    }
+
+
+    private void tableRow(Token token) {
+        int cellCount = token.line().getTableCellCount();
+        if (tableRows == 0) {
+            tableCellCount = cellCount;
+        } else if (cellCount != tableCellCount) {
+            throw new AstBuilderException("inconsistent cell count within the table", token.location());
+        }
+        if (tableRows > 0 && depth > 0 && rules[depth - 1] == RuleType.EXAMPLES_TABLE) {
+            examplesRows++;
+        }
+        tableRows++;
+    }
+
+
+    @Override
+    public void startRule(RuleType ruleType) {
+        if (ruleType == RuleType.DATA_TABLE || ruleType == RuleType.EXAMPLES_TABLE) {
+            tableRows = 0;
+        }
+        if (depth == rules.length) {
+            rules = Arrays.copyOf(rules, depth * 2);
+        }
+        rules[depth++] = ruleType;
+    }
+
+
+    @Override
+    public void endRule() {
+        depth--;
+    }
+
+
+    @Override
+    public GherkinStats getResult() {
+        return new GherkinStats(features, backgrounds, scenarios, scenarioOutlines, steps, examplesRows, tags);
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.myjtools.gherkinparser.internal;
+
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+
+/**
+ * CPU time of the current thread. The {@code java.management} module is optional, so the
+ * time is reported as unknown in runtime images built without it.
+ */
+public final class ThreadCpuTime {
+
+    private static final boolean MANAGEMENT_PRESENT = ModuleLayer.boot().findModule("java.management").isPresent();
+
+
+    private ThreadCpuTime() { }
+
+
+    /** The CPU time of the current thread in nanoseconds, or {@code -1} if it is not measured */
+    public static long current() {
+        if (!MANAGEMENT_PRESENT) {
+            return -1;
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled() ?
+            threads.getCurrentThreadCpuTime() :
+            -1;
+    }
+
+}
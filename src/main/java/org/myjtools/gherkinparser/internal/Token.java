@@ -19,11 +19,37 @@ public class Token {
     private List<GherkinLineSpan> matchedItems;
     private int matchedIndent;
     private GherkinDialect matchedGherkinDialect;
-    private Location location;
+    // line and column packed with Location.pack(), the Location is only created on demand
+    private long position;
 
-    public Token(GherkinLine line, Location location) {
+    public Token(GherkinLine line, int lineNumber) {
         this.line = line;
-        this.location = location;
+        this.position = Location.pack(lineNumber, 0);
+    }
+
+
+    public Location location() {
+        return Location.unpack(position);
+    }
+
+
+    public int lineNumber() {
+        return Location.line(position);
+    }
+
+
+    /**
+     * The spans matched in the line. Table cells and tags are only split when they are
+     * requested, so rows discarded by the AST builder never create their cell values, and
+     * lines matched several times by the parser lookahead are split once.
+     */
+    public List<GherkinLineSpan> matchedItems() {
+        if (matchedItems == null && matchedType == TokenType.TABLE_ROW) {
+            matchedItems = line.getTableCells();
+        } else if (matchedItems == null && matchedType == TokenType.TAG_LINE) {
+            matchedItems = line.getTags();
+        }
+        return matchedItems;
     }
 
 
@@ -21,10 +21,9 @@ public class TokenMatcher {
     private final GherkinDialectFactory dialectFactory;
     private GherkinDialect currentDialect;
     private String activeDocStringSeparator = null;
-    private int indentToRemove = 0;
 
 
-    private TokenMatcher(GherkinDialectFactory dialectProvider) {
+    public TokenMatcher(GherkinDialectFactory dialectProvider) {
         this.dialectFactory = dialectProvider;
         reset();
     }
@@ -40,7 +39,6 @@ public class TokenMatcher {
 
     public void reset() {
         activeDocStringSeparator = null;
-        indentToRemove = 0;
         currentDialect = dialectFactory.defaultDialect();
     }
 
@@ -56,7 +54,7 @@ public class TokenMatcher {
         token.matchedItems( items );
         token.matchedGherkinDialect( getCurrentDialect() );
         token.matchedIndent( indent != null ? indent : token.indent() );
-        token.location( new Location(token.location().line(), token.matchedIndent() + 1) );
+        token.position( Location.pack(token.lineNumber(), token.matchedIndent() + 1) );
     }
 
 
@@ -70,8 +68,10 @@ public class TokenMatcher {
 
 
     public boolean matchOther(Token token) {
-        String text = token.line().getLineText(indentToRemove); //take the entire line, except removing DocString indents
-        setTokenMatched(token, TokenType.OTHER, unescapeDocString(text), null, 0, null);
+        // DocString lines are referenced by the AST builder from the line itself, removing the
+        // DocString indent on access, so the text is only extracted for description lines
+        String text = activeDocStringSeparator == null ? token.line().getLineText(0) : null;
+        setTokenMatched(token, TokenType.OTHER, text, null, 0, null);
         return true;
     }
 
@@ -109,7 +109,7 @@ public class TokenMatcher {
     
     public boolean matchTagLine(Token token) {
         if (token.line().startsWith(GherkinLanguageConstants.TAG_PREFIX)) {
-            setTokenMatched(token, TokenType.TAG_LINE, null, null, null, token.line().getTags());
+            setTokenMatched(token, TokenType.TAG_LINE, null, null, null, null);
             return true;
         }
         return false;
@@ -117,34 +117,31 @@ public class TokenMatcher {
 
     
     public boolean matchFeatureLine(Token token) {
-        return matchTitleLine(token, TokenType.FEATURE_LINE, currentDialect.keywords(FEATURE));
+        return matchTitleLine(token, TokenType.FEATURE_LINE, currentDialect.keywordsLongestFirst(FEATURE));
     }
 
     
     public boolean matchBackgroundLine(Token token) {
-        return matchTitleLine(token, TokenType.BACKGROUND_LINE, currentDialect.keywords(BACKGROUND));
+        return matchTitleLine(token, TokenType.BACKGROUND_LINE, currentDialect.keywordsLongestFirst(BACKGROUND));
     }
 
     
     public boolean matchScenarioLine(Token token) {
-        return matchTitleLine(token, TokenType.SCENARIO_LINE, currentDialect.keywords(SCENARIO));
+        return matchTitleLine(token, TokenType.SCENARIO_LINE, currentDialect.keywordsLongestFirst(SCENARIO));
     }
 
     
     public boolean matchScenarioOutlineLine(Token token) {
-        return matchTitleLine(token, TokenType.SCENARIO_OUTLINE_LINE, currentDialect.keywords(SCENARIO_OUTLINE));
+        return matchTitleLine(token, TokenType.SCENARIO_OUTLINE_LINE, currentDialect.keywordsLongestFirst(SCENARIO_OUTLINE));
     }
 
     
     public boolean matchExamplesLine(Token token) {
-        return matchTitleLine(token, TokenType.EXAMPLES_LINE, currentDialect.keywords(EXAMPLES));
+        return matchTitleLine(token, TokenType.EXAMPLES_LINE, currentDialect.keywordsLongestFirst(EXAMPLES));
     }
 
     private boolean matchTitleLine(Token token, TokenType tokenType, List<String> keywords) {
-        List<String> sorted = keywords.stream()
-            .sorted((a, b) -> b.length() - a.length())
-            .toList();
-        for (String keyword : sorted) {
+        for (String keyword : keywords) {
             if (token.line().startsWithTitleKeyword(keyword)) {
                 String title = token.line().getRestTrimmed(keyword.length() + GherkinLanguageConstants.TITLE_KEYWORD_SEPARATOR.length());
                 setTokenMatched(token, tokenType, title, keyword, null, null);
@@ -170,10 +167,8 @@ public class TokenMatcher {
             if (isOpen) {
                 contentType = token.line().getRestTrimmed(separator.length());
                 activeDocStringSeparator = separator;
-                indentToRemove = token.line().indent();
             } else {
                 activeDocStringSeparator = null;
-                indentToRemove = 0;
             }
 
             setTokenMatched(token, TokenType.DOC_STRING_SEPARATOR, contentType, null, null, null);
@@ -184,10 +179,7 @@ public class TokenMatcher {
 
     
     public boolean matchStepLine(Token token) {
-        List<String> keywords = currentDialect.keywords(STEP).stream()
-            .sorted((a, b) -> b.length() - a.length())
-            .toList();
-        for (String keyword : keywords) {
+        for (String keyword : currentDialect.keywordsLongestFirst(STEP)) {
             if (token.line().startsWithStepKeyword(keyword)) {
                 String stepText = token.line().getRestTrimmed(keyword.length());
                 setTokenMatched(token, TokenType.STEP_LINE, stepText, keyword, null, null);
@@ -200,13 +192,10 @@ public class TokenMatcher {
     
     public boolean matchTableRow(Token token) {
         if (token.line().startsWith(GherkinLanguageConstants.TABLE_CELL_SEPARATOR)) {
-            setTokenMatched(token, TokenType.TABLE_ROW, null, null, null, token.line().getTableCells());
+            // cells are split on demand, see Token.matchedItems()
+            setTokenMatched(token, TokenType.TABLE_ROW, null, null, null, null);
             return true;
         }
         return false;
     }
-
-    private String unescapeDocString(String text) {
-        return activeDocStringSeparator != null ? text.replace("\\\"\\\"\\\"", "\"\"\"") : text;
-    }
 }
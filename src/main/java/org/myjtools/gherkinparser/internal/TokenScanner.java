@@ -2,6 +2,8 @@ package org.myjtools.gherkinparser.internal;
 
 
 import org.myjtools.gherkinparser.ParserException;
+import org.myjtools.gherkinparser.ResourceLimitException;
+import org.myjtools.gherkinparser.ResourceLimits;
 import org.myjtools.gherkinparser.elements.Location;
 
 import java.io.*;
@@ -19,27 +21,227 @@ import java.nio.charset.StandardCharsets;
 public class TokenScanner {
 
     private final BufferedReader reader;
+    // in-memory source, split in lines without any intermediate buffer
+    private final String source;
+    private final ResourceLimits limits;
     private int lineNumber;
+    private boolean eof;
+    private int offset;
+    // state of the bounded line reader, only used when limits are set
+    private char[] buffer;
+    private int position;
+    private int count;
+    private boolean skipLF;
+    private long size;
+    // only set when the bytes read are counted
+    private CountingInputStream counter;
+    private String sourceName;
 
     public TokenScanner(String source) {
-        this(new StringReader(source));
+        this(source, ResourceLimits.unlimited());
+    }
+
+    public TokenScanner(String source, ResourceLimits limits) {
+        this.reader = limits.isUnlimited() ? null : new BufferedReader(new StringReader(source));
+        this.source = limits.isUnlimited() ? source : null;
+        this.limits = limits;
     }
 
     public TokenScanner(Reader source) {
-        this.reader = new BufferedReader(source);
+        this(source, ResourceLimits.unlimited());
     }
 
     public TokenScanner(InputStream inputStream) {
-        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this(inputStream, ResourceLimits.unlimited());
+    }
+
+    /**
+     * Creates a scanner that checks the line length and file size limits while reading, without
+     * ever loading an oversized line in memory
+     */
+    public TokenScanner(Reader source, ResourceLimits limits) {
+        this.reader = new BufferedReader(source);
+        this.source = null;
+        this.limits = limits;
+    }
+
+    public TokenScanner(InputStream inputStream, ResourceLimits limits) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8), limits);
+    }
+
+    /**
+     * Creates a scanner that reads the source in small chunks of the given size, for callers
+     * that are only interested in the first lines of the document
+     */
+    public TokenScanner(Reader source, int bufferSize) {
+        this.reader = new BufferedReader(source, bufferSize);
+        this.source = null;
+        this.limits = ResourceLimits.unlimited();
+    }
+
+    /**
+     * Creates a scanner that reads at most the given number of bytes from the stream at once,
+     * for callers that are only interested in the first lines of the document
+     */
+    public TokenScanner(InputStream inputStream, int bufferSize) {
+        this(new InputStreamReader(new ChunkedInputStream(inputStream, bufferSize), StandardCharsets.UTF_8), bufferSize);
+    }
+
+    /** Creates a scanner that counts the bytes read from the stream, see {@link #bytesRead()} */
+    public static TokenScanner countingBytes(InputStream inputStream, ResourceLimits limits) {
+        var counter = new CountingInputStream(inputStream);
+        var scanner = new TokenScanner(counter, limits);
+        scanner.counter = counter;
+        return scanner;
     }
 
     public Token read() {
         try {
-            String line = reader.readLine();
-            Location location = new Location(++lineNumber, 0);
-            return line == null ? new Token(null, location) : new Token(new GherkinLine(line), location);
+            String line;
+            if (source != null) {
+                line = readSourceLine();
+            } else {
+                line = limits.isUnlimited() ? reader.readLine() : readBoundedLine();
+            }
+            ++lineNumber;
+            eof = (line == null);
+            return eof ? new Token(null, lineNumber) : new Token(new GherkinLine(line), lineNumber);
         } catch (IOException e) {
             throw new ParserException(e,"Error reading token");
         }
     }
+
+
+    /** Number of lines read so far, not counting the end of file */
+    public int linesRead() {
+        return eof ? lineNumber - 1 : lineNumber;
+    }
+
+
+    /** Name of the source, such as the path of the file, or {@code null} if it is unnamed */
+    public String sourceName() {
+        return sourceName;
+    }
+
+    public TokenScanner sourceName(String sourceName) {
+        this.sourceName = sourceName;
+        return this;
+    }
+
+
+    /**
+     * Number of bytes read from the source stream so far, or {@code -1} if the scanner was not
+     * created with {@link #countingBytes(InputStream, ResourceLimits)}
+     */
+    public long bytesRead() {
+        return counter == null ? -1 : counter.count;
+    }
+
+
+    /** Same as {@link BufferedReader#readLine()}, over the in-memory source */
+    private String readSourceLine() {
+        int length = source.length();
+        if (offset >= length) {
+            return null;
+        }
+        int end = offset;
+        while (end < length && source.charAt(end) != '\n' && source.charAt(end) != '\r') {
+            end++;
+        }
+        String line = source.substring(offset, end);
+        if (end + 1 < length && source.charAt(end) == '\r' && source.charAt(end + 1) == '\n') {
+            end++;
+        }
+        offset = end + 1;
+        return line;
+    }
+
+
+    /**
+     * Same as {@link BufferedReader#readLine()}, failing as soon as the line length or the
+     * file size limits are exceeded
+     */
+    private String readBoundedLine() throws IOException {
+        if (buffer == null) {
+            buffer = new char[8192];
+        }
+        StringBuilder line = new StringBuilder();
+        boolean empty = true;
+        while (true) {
+            if (position == count) {
+                count = Math.max(reader.read(buffer, 0, buffer.length), 0);
+                position = 0;
+                if (count == 0) {
+                    return empty ? null : line.toString();
+                }
+            }
+            char c = buffer[position++];
+            if (++size > limits.maxFileSize()) {
+                throw new ResourceLimitException(
+                    "file size", limits.maxFileSize(), new Location(lineNumber + 1, line.length() + 1)
+                );
+            }
+            if (skipLF) {
+                skipLF = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (c == '\n' || c == '\r') {
+                skipLF = (c == '\r');
+                return line.toString();
+            }
+            if (line.length() == limits.maxLineLength()) {
+                throw new ResourceLimitException(
+                    "line length", limits.maxLineLength(), new Location(lineNumber + 1, line.length() + 1)
+                );
+            }
+            empty = false;
+            line.append(c);
+        }
+    }
+
+
+    private static class ChunkedInputStream extends FilterInputStream {
+
+        private final int chunkSize;
+
+        private ChunkedInputStream(InputStream inputStream, int chunkSize) {
+            super(inputStream);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, chunkSize));
+        }
+    }
+
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package org.myjtools.gherkinparser.internal;
 
 
 
+import org.myjtools.gherkinparser.ParseError;
 import org.myjtools.gherkinparser.ParserException;
 
 import java.util.List;
@@ -11,18 +12,34 @@ public class UnexpectedEOFException extends ParserException {
 
     public final String stateComment;
     public final transient List<String> expectedTokenTypes;
+    private final transient ParseError parseError;
 
 
     public UnexpectedEOFException(Token receivedToken, List<String> expectedTokenTypes, String stateComment) {
-        super(getMessage(expectedTokenTypes), receivedToken.location());
-        this.expectedTokenTypes = expectedTokenTypes;
+        this(parseError(receivedToken, expectedTokenTypes), stateComment);
+    }
+
+
+    public UnexpectedEOFException(ParseError parseError) {
+        this(parseError, null);
+    }
+
+
+    private UnexpectedEOFException(ParseError parseError, String stateComment) {
+        super(parseError.message(), parseError.location(), false);
+        this.parseError = parseError;
+        this.expectedTokenTypes = parseError.expectedTokens();
         this.stateComment = stateComment;
     }
 
 
-    private static String getMessage(List<String> expectedTokenTypes) {
-        return String.format("unexpected end of file, expected: %s",
-            String.join(", ", expectedTokenTypes));
+    public ParseError parseError() {
+        return parseError;
+    }
+
+
+    static ParseError parseError(Token receivedToken, List<String> expectedTokenTypes) {
+        return ParseError.unexpectedEOF(receivedToken.location(), expectedTokenTypes);
     }
 
 }
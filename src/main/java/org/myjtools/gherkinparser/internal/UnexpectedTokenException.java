@@ -1,5 +1,6 @@
 package org.myjtools.gherkinparser.internal;
 
+import org.myjtools.gherkinparser.ParseError;
 import org.myjtools.gherkinparser.ParserException;
 import org.myjtools.gherkinparser.elements.Location;
 
@@ -7,16 +8,31 @@ import java.util.List;
 
 public class UnexpectedTokenException extends ParserException {
 
+    private final transient ParseError parseError;
+
 
     public UnexpectedTokenException(Token receivedToken, List<String> expectedTokenTypes) {
-        super(getMessage(receivedToken, expectedTokenTypes), getLocation(receivedToken));
+        this(parseError(receivedToken, expectedTokenTypes));
+    }
+
+
+    public UnexpectedTokenException(ParseError parseError) {
+        super(parseError.message(), parseError.location(), false);
+        this.parseError = parseError;
+    }
+
+
+    public ParseError parseError() {
+        return parseError;
     }
 
 
-    private static String getMessage(Token receivedToken, List<String> expectedTokenTypes) {
-        return String.format("expected: %s, got '%s'",
-            String.join(", ", expectedTokenTypes),
-            receivedToken.getTokenValue().trim());
+    static ParseError parseError(Token receivedToken, List<String> expectedTokenTypes) {
+        return ParseError.unexpectedToken(
+            getLocation(receivedToken),
+            expectedTokenTypes,
+            receivedToken.line().text()
+        );
     }
 
 
@@ -2,5 +2,7 @@ module org.myjtools.gherkinparser.test {
     requires org.junit.jupiter.api;
     requires org.myjtools.gherkinparser;
     requires org.assertj.core;
+    requires jdk.management;
+    requires jdk.jfr;
     opens org.myjtools.gherkinparser.test to org.junit.platform.commons;
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.DataTable;
+import org.myjtools.gherkinparser.elements.Examples;
+import org.myjtools.gherkinparser.elements.Feature;
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.myjtools.gherkinparser.elements.ScenarioDefinition;
+import org.myjtools.gherkinparser.elements.ScenarioOutline;
+import org.myjtools.gherkinparser.elements.Step;
+import org.myjtools.gherkinparser.elements.TableRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the bytes allocated by the parser per source line and per AST node against the
+ * budgets in {@code allocation-budget.properties}. Measures are taken after warming up the
+ * parser, and the lowest of several measures is kept to filter out noise.
+ */
+class TestAllocationBudget {
+
+	private static final int WARMUP_PARSES = 300;
+	private static final int MEASURES = 5;
+	private static final int PARSES_PER_MEASURE = 20;
+
+	private final GherkinParser parser = new GherkinParser(new DefaultKeywordMapProvider());
+
+
+	@Test
+	void simpleScenarioStaysWithinBudget() throws IOException {
+		assertWithinBudget("simpleScenario", resource("/simpleScenario.feature"));
+	}
+
+	@Test
+	void dataTableStaysWithinBudget() throws IOException {
+		assertWithinBudget("dataTable", resource("/dataTable.feature"));
+	}
+
+	@Test
+	void docStringStaysWithinBudget() throws IOException {
+		assertWithinBudget("docString", resource("/docString.feature"));
+	}
+
+	@Test
+	void scenarioOutlineStaysWithinBudget() throws IOException {
+		assertWithinBudget("scenarioOutline", resource("/scenarioOutline.feature"));
+	}
+
+	@Test
+	void largeDocumentStaysWithinBudget() throws IOException {
+		assertWithinBudget("largeDocument", largeDocument());
+	}
+
+
+	private void assertWithinBudget(String name, byte[] source) throws IOException {
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+		GherkinDocument document = parser.parse(new ByteArrayInputStream(source));
+		for (int i = 0; i < WARMUP_PARSES; i++) {
+			parser.parse(new ByteArrayInputStream(source));
+		}
+		long allocated = Long.MAX_VALUE;
+		for (int measure = 0; measure < MEASURES; measure++) {
+			long start = threads.getCurrentThreadAllocatedBytes();
+			for (int i = 0; i < PARSES_PER_MEASURE; i++) {
+				parser.parse(new ByteArrayInputStream(source));
+			}
+			allocated = Math.min(allocated, (threads.getCurrentThreadAllocatedBytes() - start) / PARSES_PER_MEASURE);
+		}
+
+		var budget = budget();
+		long bytesPerLine = allocated / lines(source);
+		long bytesPerNode = allocated / nodes(document.feature());
+		assertThat(bytesPerLine)
+			.as("bytes allocated per line parsing %s (%d bytes in total)", name, allocated)
+			.isLessThanOrEqualTo(Long.parseLong(budget.getProperty(name + ".bytesPerLine")));
+		assertThat(bytesPerNode)
+			.as("bytes allocated per node parsing %s (%d bytes in total)", name, allocated)
+			.isLessThanOrEqualTo(Long.parseLong(budget.getProperty(name + ".bytesPerNode")));
+	}
+
+
+	private Properties budget() throws IOException {
+		var budget = new Properties();
+		try (InputStream input = getClass().getResourceAsStream("/allocation-budget.properties")) {
+			budget.load(input);
+		}
+		return budget;
+	}
+
+
+	private byte[] resource(String name) throws IOException {
+		try (InputStream input = getClass().getResourceAsStream(name)) {
+			return input.readAllBytes();
+		}
+	}
+
+
+	private static int lines(byte[] source) {
+		int lines = 1;
+		for (byte b : source) {
+			if (b == '\n') {
+				lines++;
+			}
+		}
+		return lines;
+	}
+
+
+	private static int nodes(Feature feature) {
+		int nodes = 1 + feature.tags().size() + feature.comments().size();
+		for (ScenarioDefinition scenario : feature.children()) {
+			nodes += 1 + scenario.tags().size() + scenario.comments().size();
+			for (Step step : scenario.children()) {
+				nodes += 1 + step.comments().size();
+				if (step.argument() instanceof DataTable table) {
+					nodes += 1 + nodes(table.rows());
+				} else if (step.argument() != null) {
+					nodes++;
+				}
+			}
+			if (scenario instanceof ScenarioOutline outline) {
+				for (Examples examples : outline.examples()) {
+					nodes += 1 + examples.tags().size() + nodes(List.of(examples.tableHeader())) + nodes(examples.tableBody());
+				}
+			}
+		}
+		return nodes;
+	}
+
+
+	private static int nodes(List<TableRow> rows) {
+		int nodes = 0;
+		for (TableRow row : rows) {
+			nodes += 1 + row.cells().size();
+		}
+		return nodes;
+	}
+
+
+	private static byte[] largeDocument() {
+		var text = new StringBuilder("@large\nFeature: Large document\n\n  Background:\n    Given a background step\n");
+		for (int scenario = 0; scenario < 200; scenario++) {
+			text.append("\n  # scenario ").append(scenario).append('\n');
+			text.append("  @tag").append(scenario % 10).append(" @group").append(scenario % 3).append('\n');
+			if (scenario % 4 == 0) {
+				text.append("  Scenario Outline: Outline ").append(scenario).append('\n');
+				text.append("    Given the value <a>\n    Then the result is <b>\n\n    Examples:\n");
+				text.append("      | a | b |\n");
+				for (int row = 0; row < 10; row++) {
+					text.append("      | a").append(row).append(" | b").append(row).append(" |\n");
+				}
+			} else {
+				text.append("  Scenario: Scenario ").append(scenario).append('\n');
+				text.append("    Given the step number ").append(scenario).append('\n');
+				text.append("    When the following data:\n");
+				text.append("      | name | value |\n      | x | 1 |\n      | y | 2 |\n");
+				text.append("    Then the following document:\n");
+				text.append("      \"\"\"\n      first line\n      second line\n      \"\"\"\n");
+			}
+		}
+		return text.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,132 @@
+package org.myjtools.gherkinparser.test;
+
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.BatchReport;
+import org.myjtools.gherkinparser.BatchResult;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestBatchParse {
+
+	private final GherkinParser parser = new GherkinParser(new DefaultKeywordMapProvider());
+
+
+	@Test
+	void parseAllReportsEachFile() throws IOException {
+		Path directory = Files.createTempDirectory("batch");
+		Path simple = copy("/simpleScenario.feature", directory);
+		Path invalid = copy("/invalid.feature", directory);
+		Path missing = directory.resolve("missing.feature");
+
+		BatchResult batch = parser.parseAll(List.of(simple, invalid, missing));
+		assertThat(batch.documents()).isEqualTo(3);
+		assertThat(batch.results().get(simple).hasErrors()).isFalse();
+		assertThat(batch.failures()).containsOnlyKeys(invalid, missing);
+		assertThat(batch.errorCount()).isEqualTo(4);
+		assertThat(batch.metrics()).hasSize(2);
+		assertThat(batch.metrics().getFirst().source()).isEqualTo(simple.toString());
+		assertThat(batch.metrics().getFirst().bytes()).isEqualTo(505);
+		assertThat(batch.failures().get(missing).errors().getFirst().toString()).isEqualTo(
+			"Error reading " + missing + " (NoSuchFileException: " + missing + ")"
+		);
+		assertThat(batch.failures().toString()).contains("missing.feature");
+	}
+
+
+	@Test
+	void reportSummarizesTheBatch() throws IOException {
+		Path directory = Files.createTempDirectory("report");
+		Path simple = copy("/simpleScenario.feature", directory);
+		Path outline = copy("/scenarioOutline.feature", directory);
+		Path invalid = copy("/invalid.feature", directory);
+
+		BatchReport report = parser.parseAll(List.of(simple, outline, invalid)).report(2);
+		assertThat(report.documents()).isEqualTo(3);
+		assertThat(report.failedDocuments()).isEqualTo(1);
+		assertThat(report.bytes()).isEqualTo(Files.size(simple) + Files.size(outline) + Files.size(invalid));
+		assertThat(report.wallNanos()).isGreaterThanOrEqualTo(report.latencies().max());
+		assertThat(report.slowest()).hasSize(2);
+		assertThat(report.slowest().getFirst().totalNanos()).isEqualTo(report.latencies().max());
+		assertThat(report.errors()).containsOnlyKeys(invalid);
+		assertThat(report.latencies().count()).isEqualTo(3);
+		assertThat(report.toString()).contains("3 documents (1 failed)");
+	}
+
+
+	@Test
+	void histogramPercentilesHaveBoundedError() {
+		var histogram = new Histogram();
+		for (long value = 1; value <= 100_000; value++) {
+			histogram.record(value * 1000);
+		}
+		assertThat(histogram.count()).isEqualTo(100_000);
+		assertThat(histogram.min()).isEqualTo(1000);
+		assertThat(histogram.max()).isEqualTo(100_000_000);
+		assertThat(Math.abs(histogram.percentile(50) - 50_000_000.0) / 50_000_000).isLessThan(0.016);
+		assertThat(Math.abs(histogram.percentile(99) - 99_000_000.0) / 99_000_000).isLessThan(0.016);
+		assertThat(histogram.percentile(100)).isEqualTo(100_000_000);
+		assertThat(histogram.percentile(0)).isEqualTo(1000);
+	}
+
+
+	@Test
+	void parsesAreRecordedAsFlightRecorderEvents() throws IOException {
+		Path directory = Files.createTempDirectory("jfr");
+		Path simple = copy("/simpleScenario.feature", directory);
+		Path spanish = copy("/spanishScenario.feature", directory);
+		Path output = directory.resolve("parse.jfr");
+
+		try (var recording = new Recording()) {
+			recording.enable("org.myjtools.gherkinparser.DocumentParse").withThreshold(Duration.ZERO);
+			recording.enable("org.myjtools.gherkinparser.BatchParse").withThreshold(Duration.ZERO);
+			recording.enable("org.myjtools.gherkinparser.DialectLookup").withThreshold(Duration.ZERO);
+			recording.start();
+			new GherkinParser(new DefaultKeywordMapProvider()).parseAll(List.of(simple, spanish));
+			recording.stop();
+			recording.dump(output);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+		List<RecordedEvent> documents = events(events, "org.myjtools.gherkinparser.DocumentParse");
+		assertThat(documents).hasSize(2);
+		assertThat(documents.getFirst().getString("source")).isEqualTo(simple.toString());
+		assertThat(documents.getFirst().getLong("bytes")).isEqualTo(505);
+		assertThat(documents.get(1).getString("language")).isEqualTo("es");
+
+		List<RecordedEvent> batches = events(events, "org.myjtools.gherkinparser.BatchParse");
+		assertThat(batches).hasSize(1);
+		assertThat(batches.getFirst().getInt("documents")).isEqualTo(2);
+		assertThat(batches.getFirst().getLong("scenarios")).isEqualTo(documents.stream().mapToLong(it -> it.getInt("scenarios")).sum());
+
+		assertThat(events(events, "org.myjtools.gherkinparser.DialectLookup")).isNotEmpty();
+	}
+
+
+	private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+		return events.stream().filter(it -> it.getEventType().getName().equals(name)).toList();
+	}
+
+
+	private Path copy(String resource, Path directory) throws IOException {
+		Path file = directory.resolve(resource.substring(1));
+		try (InputStream input = getClass().getResourceAsStream(resource)) {
+			Files.copy(input, file);
+		}
+		return file;
+	}
+
+}
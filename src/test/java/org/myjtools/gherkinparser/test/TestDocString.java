@@ -0,0 +1,76 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.DocString;
+import org.myjtools.gherkinparser.elements.Location;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestDocString {
+
+	private static final String JSON = """
+		{
+		  "name": "value",
+		    "nested": true
+		}""";
+
+	private static final String TEXT = """
+		A line with an escaped \""" separator
+		A less indented line
+
+		Last line""";
+
+
+	private DocString docString(int step) {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		var parsed = parser.parse(getClass().getResourceAsStream("/docString.feature"));
+		return (DocString) parsed.feature().children().getFirst().children().get(step).argument();
+	}
+
+	@Test
+	void docStringContentRemovesIndentationAndUnescapesSeparators() {
+		var json = docString(0);
+		assertThat(json.location()).isEqualTo(new Location(5, 7));
+		assertThat(json.contentType()).isEqualTo("json");
+		assertThat(json.content()).isEqualTo(JSON);
+		var text = docString(1);
+		assertThat(text.contentType()).isNull();
+		assertThat(text.content()).isEqualTo(TEXT);
+	}
+
+	@Test
+	void docStringContentViewBehavesAsTheMaterializedContent() {
+		var view = docString(0).contentView();
+		assertThat(view.length()).isEqualTo(JSON.length());
+		for (int i = 0; i < JSON.length(); i++) {
+			assertThat(view.charAt(i)).isEqualTo(JSON.charAt(i));
+		}
+		assertThat(view.subSequence(4, 20).toString()).isEqualTo(JSON.substring(4, 20));
+		assertThat(view.hashCode()).isEqualTo(JSON.hashCode());
+		assertThat(docString(0)).isEqualTo(docString(0));
+	}
+
+	@Test
+	void docStringContentCanBeStreamed() throws IOException {
+		try (var reader = new BufferedReader(docString(1).contentReader())) {
+			assertThat(reader.lines().collect(Collectors.joining("\n"))).isEqualTo(TEXT);
+		}
+		var buffer = new char[5];
+		var content = new StringBuilder();
+		try (var reader = docString(0).contentReader()) {
+			int read;
+			while ((read = reader.read(buffer)) >= 0) {
+				content.append(buffer, 0, read);
+			}
+		}
+		assertThat(content.toString()).isEqualTo(JSON);
+	}
+
+}
@@ -4,6 +4,16 @@ package org.myjtools.gherkinparser.test;
 import org.junit.jupiter.api.Test;
 import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
 import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordType;
+import org.myjtools.gherkinparser.StringInterner;
+import org.myjtools.gherkinparser.elements.DataTable;
+import org.myjtools.gherkinparser.elements.Location;
+import org.myjtools.gherkinparser.elements.TableCell;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,5 +63,89 @@ class TestGherkinParser {
 		assertThat(child).isNotNull();
 	}
 
+	@Test
+	void dataTableRowsAndCellsAreExposed() {
+		var keywordMapProvider = new DefaultKeywordMapProvider();
+		var parser = new GherkinParser(keywordMapProvider);
+		var parsed = parser.parse(getClass().getResourceAsStream("/dataTable.feature"));
+		var step = parsed.feature().children().getFirst().children().getFirst();
+		var dataTable = (DataTable) step.argument();
+		assertThat(dataTable.location()).isEqualTo(new Location(5, 7));
+		assertThat(dataTable.rows()).hasSize(3);
+		var row = dataTable.rows().get(2);
+		assertThat(row.location()).isEqualTo(new Location(7, 7));
+		assertThat(row.cells().stream().map(TableCell::value).toList())
+			.containsExactly("bob", "bob@domain.org", "user");
+		assertThat(row.cells().get(1).location()).isEqualTo(new Location(7, 17));
+		assertThat(new DataTable(dataTable.rows())).isEqualTo(dataTable);
+	}
+
+	@Test
+	void tagsAndCommentsKeepTheirLocations() {
+		var keywordMapProvider = new DefaultKeywordMapProvider();
+		var parser = new GherkinParser(keywordMapProvider);
+		var parsed = parser.parse(getClass().getResourceAsStream("/simpleScenario.feature"));
+		var feature = parsed.feature();
+		assertThat(feature.comments()).hasSize(2);
+		assertThat(feature.comments().get(1).location()).isEqualTo(new Location(2, 1));
+		assertThat(feature.comments().get(1).text()).isEqualTo("# featureProperty: A");
+		assertThat(feature.tags().getFirst().location()).isEqualTo(new Location(3, 1));
+		var scenario = feature.children().getFirst();
+		assertThat(scenario.location()).isEqualTo(new Location(11, 1));
+		assertThat(scenario.comments()).hasSize(2);
+		assertThat(scenario.tags().getFirst().name()).isEqualTo("@ID-Test1_Scenario1");
+		var step = scenario.children().getFirst();
+		assertThat(step.location()).isEqualTo(new Location(14, 3));
+		assertThat(step.comments().getFirst().location()).isEqualTo(new Location(12, 1));
+	}
+
+	@Test
+	void internerSharesTagNamesAndCellValuesAmongDocuments() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), StringInterner.bounded(1024));
+		var first = parser.parse(getClass().getResourceAsStream("/dataTable.feature"));
+		var second = parser.parse(getClass().getResourceAsStream("/dataTable.feature"));
+		var firstTable = (DataTable) first.feature().children().getFirst().children().getFirst().argument();
+		var secondTable = (DataTable) second.feature().children().getFirst().children().getFirst().argument();
+		assertThat(firstTable.table().value(1, 0)).isEqualTo("alice");
+		assertThat(secondTable.table().value(1, 0)).isSameAs(firstTable.table().value(1, 0));
+		assertThat(first.feature().keyword()).isSameAs(second.feature().keyword());
+	}
+
+	@Test
+	void documentsParsedFromTheSameSourceAreEqual() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		var first = parser.parse(getClass().getResourceAsStream("/scenarioOutline.feature"));
+		var second = parser.parse(getClass().getResourceAsStream("/scenarioOutline.feature"));
+		assertThat(second).isEqualTo(first);
+		assertThat(second.hashCode()).isEqualTo(first.hashCode());
+		var other = parser.parse(getClass().getResourceAsStream("/dataTable.feature"));
+		assertThat(other).isNotEqualTo(first);
+		assertThat(first.feature().children().getFirst())
+			.isNotEqualTo(other.feature().children().getFirst());
+	}
+
+	@Test
+	void parsersWithDifferentKeywordsDoNotShareDialects() {
+		var defaultProvider = new DefaultKeywordMapProvider();
+		var english = defaultProvider.keywordMap(Locale.ENGLISH).orElseThrow();
+		KeywordMap custom = type -> type == KeywordType.FEATURE ? List.of("Capability") : english.keywords(type);
+		var defaultParser = new GherkinParser(defaultProvider);
+		var customParser = new GherkinParser(custom);
+		assertThat(defaultParser.parse(new StringReader("Feature: default")).feature().keyword())
+			.isEqualTo("Feature");
+		assertThat(customParser.parse(new StringReader("Capability: custom")).feature().keyword())
+			.isEqualTo("Capability");
+	}
+
+	@Test
+	void trailingBackslashInTableRowIsIgnored() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		var document = parser.parse(new StringReader(
+			"Feature: f\n  Scenario: s\n    Given a table:\n      | a | b |\n      | c | d |\\"
+		));
+		var table = (DataTable) document.feature().children().getFirst().children().getFirst().argument();
+		assertThat(table.table().value(1, 1)).isEqualTo("d");
+	}
+
 
 }
@@ -0,0 +1,117 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+
+import java.io.StringReader;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parses adversarial inputs of size 1x, 2x and 4x, checking that the parse time grows
+ * linearly. A linear parser takes about 2 and 4 times longer for the 2x and 4x inputs, a
+ * quadratic one 4 and 16 times, so anything above twice the linear growth is reported as a
+ * regression.
+ * <p>
+ * These are wall-clock measurements, so they are tagged as performance tests and only run with
+ * the {@code performance-tests} profile.
+ */
+@Tag("performance")
+class TestLinearTime {
+
+	private static final int RUNS = 5;
+	private static final double MAX_GROWTH_FACTOR = 2.0;
+
+	private final GherkinParser parser = new GherkinParser(new DefaultKeywordMapProvider());
+
+
+	@Test
+	void tagLinesBeforeExamples() {
+		assertLinear(4_000, size -> outline() + "    @tag1 @tag2 @tag3\n".repeat(size) + examples());
+	}
+
+	@Test
+	void commentLinesBeforeExamples() {
+		assertLinear(4_000, size -> outline() + "    @tag\n" + "    # comment\n\n".repeat(size) + examples());
+	}
+
+	@Test
+	void escapedTableCells() {
+		assertLinear(20_000, size -> scenario() + "      |" + " \\|\\\\\\n |".repeat(size) + "\n");
+	}
+
+	@Test
+	void wideRowsWithHugeIndentation() {
+		assertLinear(4_000, size -> scenario() + " ".repeat(10 * size) + "|" + " cell ✓ |".repeat(size) + "\n");
+	}
+
+	@Test
+	void tagLinesWithHugeIndentation() {
+		assertLinear(4_000, size -> " ".repeat(10 * size) + "@tag✓ ".repeat(size) + "\nFeature: tags\n");
+	}
+
+	@Test
+	void manyLanguageLines() {
+		assertLinear(20_000, size -> "# language: es\n".repeat(size) + "Característica: idiomas\n");
+	}
+
+	@Test
+	void longKeywordLikePrefixes() {
+		assertLinear(2_000, size -> "Feature: prefixes\n" +
+			("  " + "Scenario Outline Given ".repeat(20) + "\n").repeat(size) + "\n  Scenario: s\n    Given a step\n");
+	}
+
+
+	private void assertLinear(int size, IntFunction<String> input) {
+		String single = input.apply(size);
+		String twice = input.apply(2 * size);
+		String quadruple = input.apply(4 * size);
+		for (int i = 0; i < 3; i++) {
+			parse(single);
+			parse(twice);
+		}
+		long singleTime = time(single);
+		for (int factor : new int[] { 2, 4 }) {
+			long time = time(factor == 2 ? twice : quadruple);
+			assertThat((double) time)
+				.as("parse time of a %dx input (%d ns) compared to a 1x input (%d ns)", factor, time, singleTime)
+				.isLessThanOrEqualTo(MAX_GROWTH_FACTOR * factor * singleTime);
+		}
+	}
+
+
+	private long time(String input) {
+		long best = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			parse(input);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+
+	private void parse(String input) {
+		assertThat(parser.parse(new StringReader(input))).isNotNull();
+	}
+
+
+	private static String outline() {
+		return "Feature: lookahead\n\n  Scenario Outline: outline\n    Given a <value>\n";
+	}
+
+
+	private static String examples() {
+		return "    Examples:\n      | value |\n      | 1 |\n";
+	}
+
+
+	private static String scenario() {
+		return "Feature: tables\n\n  Scenario: scenario\n    Given a table:\n";
+	}
+
+}
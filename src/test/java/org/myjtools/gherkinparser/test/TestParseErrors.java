@@ -0,0 +1,58 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.*;
+import org.myjtools.gherkinparser.elements.Location;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestParseErrors {
+
+	private ParseResult parse(ParseOptions options) {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), options);
+		return parser.tryParse(getClass().getResourceAsStream("/invalid.feature"));
+	}
+
+
+	@Test
+	void collectAllReportsEveryError() {
+		var result = parse(ParseOptions.builder().errorMode(ErrorMode.COLLECT_ALL).build());
+		assertThat(result.hasErrors()).isTrue();
+		assertThat(result.document()).isNull();
+		assertThat(result.errors()).hasSize(3);
+		var error = result.errors().getFirst();
+		assertThat(error.kind()).isEqualTo(ParseError.Kind.UNEXPECTED_TOKEN);
+		assertThat(error.location()).isEqualTo(new Location(5, 5));
+		assertThat(error.message()).endsWith("got 'this line is not a step'");
+	}
+
+
+	@Test
+	void failFastAndCollectNStopEarly() {
+		assertThat(parse(ParseOptions.builder().errorMode(ErrorMode.FAIL_FAST).build()).errors())
+			.hasSize(1);
+		assertThat(parse(ParseOptions.builder().maxErrors(2).build()).errors())
+			.hasSize(2);
+	}
+
+
+	@Test
+	void parseThrowsTheCollectedErrors() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		assertThatThrownBy(() -> parser.parse(getClass().getResourceAsStream("/invalid.feature")))
+			.isInstanceOf(ParserException.CompositeParserException.class)
+			.hasMessageContaining("(5:5): expected:");
+	}
+
+
+	@Test
+	void validDocumentsHaveNoErrors() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		var result = parser.tryParse(getClass().getResourceAsStream("/simpleScenario.feature"));
+		assertThat(result.hasErrors()).isFalse();
+		assertThat(result.orElseThrow().feature().name()).isEqualTo("Test 1 - Simple Scenario");
+	}
+
+}
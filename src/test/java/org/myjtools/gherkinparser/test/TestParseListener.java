@@ -0,0 +1,108 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.ParseListener;
+import org.myjtools.gherkinparser.ParseMetrics;
+import org.myjtools.gherkinparser.ParseOptions;
+import org.myjtools.gherkinparser.StateMachineProfile;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestParseListener {
+
+	private final List<ParseMetrics> metrics = new ArrayList<>();
+	private int started;
+
+	private final GherkinParser parser = new GherkinParser(
+		new DefaultKeywordMapProvider(),
+		ParseOptions.builder().listener(new ParseListener() {
+			@Override
+			public void parseStarted() {
+				started++;
+			}
+			@Override
+			public void parseFinished(ParseMetrics parseMetrics) {
+				metrics.add(parseMetrics);
+			}
+		}).build()
+	);
+
+
+	@Test
+	void listenerReceivesTheMetricsOfEachParse() {
+		parser.parse(getClass().getResourceAsStream("/simpleScenario.feature"));
+		parser.parse(getClass().getResourceAsStream("/spanishScenario.feature"));
+		assertThat(started).isEqualTo(2);
+		assertThat(metrics).hasSize(2);
+
+		var first = metrics.getFirst();
+		assertThat(first.bytes()).isEqualTo(505);
+		assertThat(first.lines()).isEqualTo(16);
+		assertThat(first.language()).isEqualTo("en");
+		assertThat(first.scenarios()).isEqualTo(1);
+		assertThat(first.source()).isNull();
+		assertThat(first.failed()).isFalse();
+		assertThat(first.scanNanos() + first.matchNanos() + first.buildNanos()).isEqualTo(first.totalNanos());
+		assertThat(metrics.get(1).language()).isEqualTo("es");
+	}
+
+
+	@Test
+	void listenerReceivesTheErrorsFound() {
+		var reader = new InputStreamReader(getClass().getResourceAsStream("/invalid.feature"), StandardCharsets.UTF_8);
+		parser.tryParse(reader);
+		assertThat(metrics).hasSize(1);
+		assertThat(metrics.getFirst().errors()).isEqualTo(3);
+		assertThat(metrics.getFirst().bytes()).isEqualTo(-1);
+	}
+
+
+	@Test
+	void stateMachineIsOnlyProfiledWhenEnabled() {
+		parser.parse(getClass().getResourceAsStream("/simpleScenario.feature"));
+		assertThat(metrics.getFirst().stateMachine()).isNull();
+	}
+
+
+	@Test
+	void stateMachineProfileCountsStatesMatchersAndLookaheads() {
+		List<ParseMetrics> profiled = new ArrayList<>();
+		var options = ParseOptions.builder().listener(profiled::add).profileStateMachine(true).build();
+		var profilingParser = new GherkinParser(new DefaultKeywordMapProvider(), options);
+		profilingParser.parse(getClass().getResourceAsStream("/scenarioOutline.feature"));
+		profilingParser.tryParse(getClass().getResourceAsStream("/invalid.feature"));
+
+		StateMachineProfile outline = profiled.getFirst().stateMachine();
+		long visits = 0;
+		long transitions = 0;
+		for (int from = 0; from < outline.states().size(); from++) {
+			visits += outline.visits(from);
+			for (int to = 0; to < outline.states().size(); to++) {
+				transitions += outline.transitions(from, to);
+			}
+		}
+		assertThat(visits).isEqualTo(transitions);
+		assertThat(visits).isEqualTo(profiled.getFirst().lines() + 1);
+		assertThat(outline.visits(0)).isEqualTo(1);
+		assertThat(outline.lookaheads()).isEqualTo(2);
+		assertThat(outline.attempts("EXAMPLES_LINE")).isGreaterThanOrEqualTo(outline.successes("EXAMPLES_LINE"));
+		// three examples lines, two of them also matched by the lookahead after their tags
+		assertThat(outline.successes("EXAMPLES_LINE")).isEqualTo(5);
+		assertThat(outline.trace()).hasSize((int) visits);
+		assertThat(outline.trace().getLast().token()).isEqualTo("EOF");
+
+		StateMachineProfile invalid = profiled.get(1).stateMachine();
+		assertThat(invalid.trace().stream().map(StateMachineProfile.Transition::line).toList()).contains(5, 6, 7);
+		assertThat(outline.merge(invalid).visits(0)).isEqualTo(2);
+		assertThat(invalid.report()).contains("Trace:");
+	}
+
+}
@@ -0,0 +1,85 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.ParseOptions;
+import org.myjtools.gherkinparser.ParserException;
+import org.myjtools.gherkinparser.elements.Location;
+import org.myjtools.gherkinparser.elements.ScenarioOutline;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestParseOptions {
+
+	private static final ParseOptions LEAN = ParseOptions.builder()
+		.retainComments(false)
+		.retainDescriptions(false)
+		.retainLocations(false)
+		.retainStepArguments(false)
+		.retainExamplesBody(false)
+		.build();
+
+
+	@Test
+	void leanOptionsSkipCommentsDescriptionsAndColumns() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), LEAN);
+		var feature = parser.parse(getClass().getResourceAsStream("/simpleScenario.feature")).feature();
+		assertThat(feature.comments()).isEmpty();
+		assertThat(feature.description()).isEmpty();
+		assertThat(feature.tags().getFirst().name()).isEqualTo("@Test1");
+		var scenario = feature.children().getFirst();
+		assertThat(scenario.comments()).isEmpty();
+		var step = scenario.children().getFirst();
+		assertThat(step.comments()).isEmpty();
+		assertThat(step.location()).isEqualTo(new Location(14, 0));
+		assertThat(step.text()).isEqualTo("a number with value 8.02 and another number with value 9");
+	}
+
+
+	@Test
+	void leanOptionsSkipStepArgumentsAndExamplesBody() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), LEAN);
+		var dataTableFeature = parser.parse(getClass().getResourceAsStream("/dataTable.feature")).feature();
+		assertThat(dataTableFeature.children().getFirst().children().getFirst().argument()).isNull();
+		var outline = (ScenarioOutline) parser
+			.parse(getClass().getResourceAsStream("/scenarioOutline.feature"))
+			.feature().children().getFirst();
+		var examples = outline.examples().getFirst();
+		assertThat(examples.tableHeader().cells()).hasSize(3);
+		assertThat(examples.tableBody()).isEmpty();
+	}
+
+
+	@Test
+	void skippedDataTablesAreStillChecked() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), LEAN);
+		var feature = """
+			Feature: Broken table
+			  Scenario: Scenario with a broken table
+			    Given the following values:
+			      | a | b |
+			      | 1 | 2 |
+			      | 3 |
+			""";
+		assertThatThrownBy(() -> parser.parse(new StringReader(feature)))
+			.isInstanceOf(ParserException.class)
+			.hasMessageContaining("(6:7): inconsistent cell count within the table");
+	}
+
+
+	@Test
+	void defaultOptionsRetainEverything() {
+		var keywordMapProvider = new DefaultKeywordMapProvider();
+		var full = new GherkinParser(keywordMapProvider)
+			.parse(getClass().getResourceAsStream("/simpleScenario.feature"));
+		var withDefaults = new GherkinParser(keywordMapProvider, ParseOptions.defaults())
+			.parse(getClass().getResourceAsStream("/simpleScenario.feature"));
+		assertThat(withDefaults).isEqualTo(full);
+	}
+
+}
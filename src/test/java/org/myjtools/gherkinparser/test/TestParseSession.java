@@ -0,0 +1,65 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.ParserPool;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestParseSession {
+
+	private static final String SNIPPET = """
+		Feature: Snippet
+		  Scenario: Only scenario
+		    Given a step
+		    When another step
+		""";
+
+	private final GherkinParser parser = new GherkinParser(new DefaultKeywordMapProvider());
+
+
+	@Test
+	void sessionsCanBeReusedAndKeepStatistics() {
+		var session = parser.newSession();
+		var expected = parser.parse(new StringReader(SNIPPET));
+		for (int i = 0; i < 3; i++) {
+			assertThat(session.parse(SNIPPET)).isEqualTo(expected);
+		}
+		assertThat(session.tryParse("Feature: Broken\n  Scenario: Broken\n    Given a step\n    not a step\n").hasErrors()).isTrue();
+		assertThat(session.parse(new StringReader(SNIPPET))).isEqualTo(expected);
+		var statistics = session.statistics();
+		assertThat(statistics.parses()).isEqualTo(5L);
+		assertThat(statistics.failedParses()).isEqualTo(1L);
+		assertThat(statistics.lines()).isEqualTo(20L);
+		session.resetStatistics();
+		assertThat(session.statistics().parses()).isEqualTo(0L);
+	}
+
+
+	@Test
+	void poolsShareSessionsAmongThreads() throws Exception {
+		var pool = new ParserPool(parser, 2);
+		var expected = parser.parse(new StringReader(SNIPPET));
+		var executor = Executors.newFixedThreadPool(4);
+		try {
+			var tasks = new ArrayList<Callable<Boolean>>();
+			for (int i = 0; i < 100; i++) {
+				tasks.add(() -> pool.parse(SNIPPET).equals(expected));
+			}
+			for (var result : executor.invokeAll(tasks)) {
+				assertThat(result.get()).isTrue();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(pool.statistics().parses()).isEqualTo(100L);
+	}
+
+}
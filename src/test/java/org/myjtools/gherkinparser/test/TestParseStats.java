@@ -0,0 +1,37 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.GherkinStats;
+import org.myjtools.gherkinparser.ParserException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestParseStats {
+
+	private final GherkinParser parser = new GherkinParser(new DefaultKeywordMapProvider());
+
+
+	@Test
+	void statsCountTheElementsOfTheDocument() {
+		var stats = parser.stats(getClass().getResourceAsStream("/scenarioOutline.feature"));
+		assertThat(stats).isEqualTo(new GherkinStats(1, 0, 0, 1, 4, 5, 4));
+	}
+
+
+	@Test
+	void validateReportsTheSameErrorsAsParse() {
+		assertThat(parser.validate(getClass().getResourceAsStream("/simpleScenario.feature"))).isEmpty();
+		var errors = parser.validate(getClass().getResourceAsStream("/invalid.feature"));
+		assertThat(errors).hasSize(3);
+		assertThat(errors).isEqualTo(
+			parser.tryParse(getClass().getResourceAsStream("/invalid.feature")).errors()
+		);
+		assertThatThrownBy(() -> parser.stats(getClass().getResourceAsStream("/invalid.feature")))
+			.isInstanceOf(ParserException.class);
+	}
+
+}
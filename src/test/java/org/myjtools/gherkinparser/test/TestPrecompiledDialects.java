@@ -0,0 +1,66 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinDialect;
+import org.myjtools.gherkinparser.GherkinDialectFactory;
+import org.myjtools.gherkinparser.KeywordMap;
+import org.myjtools.gherkinparser.KeywordType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestPrecompiledDialects {
+
+	private final DefaultKeywordMapProvider provider = new DefaultKeywordMapProvider();
+
+
+	@Test
+	void bundledDialectsAreLoadedFromThePrecompiledTables() {
+		for (String language : List.of("en", "es")) {
+			KeywordMap keywordMap = provider.keywordMap(Locale.forLanguageTag(language)).orElseThrow();
+			assertThat(keywordMap.getClass().getSimpleName()).isEqualTo("PrecompiledKeywordMap");
+		}
+	}
+
+
+	@Test
+	void precompiledDialectsMatchTheirPropertiesFiles() throws IOException {
+		for (String language : List.of("en", "es")) {
+			var resource = getClass().getClassLoader().getResource("gherkin_" + language + ".properties");
+			try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+				var precompiled = new GherkinDialectFactory(provider, language).defaultDialect();
+				String line;
+				while ((line = reader.readLine()) != null) {
+					String[] parts = line.split("=");
+					assertThat(precompiled.keywords(KeywordType.of(parts[0]))).containsExactly(parts[1].split(","));
+				}
+			}
+		}
+	}
+
+
+	@Test
+	void precompiledDialectsMatchTheDialectsComputedAtRuntime() {
+		for (String language : List.of("en", "es")) {
+			var precompiled = new GherkinDialectFactory(provider, language).defaultDialect();
+			// a plain keyword map, so the dialect is flattened and sorted when created
+			GherkinDialect computed = new GherkinDialectFactory(
+				locale -> provider.keywordMap(locale).map(keywordMap -> keywordMap::keywords),
+				language
+			).defaultDialect();
+			for (KeywordType type : KeywordType.values()) {
+				assertThat(precompiled.keywords(type)).isEqualTo(computed.keywords(type));
+				assertThat(precompiled.keywordsLongestFirst(type)).isEqualTo(computed.keywordsLongestFirst(type));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.Location;
+import org.myjtools.gherkinparser.elements.Tag;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestProbeHeader {
+
+	private final GherkinParser parser = new GherkinParser(new DefaultKeywordMapProvider());
+
+
+	@Test
+	void probeReturnsTheFeatureHeader() {
+		var header = parser.probeHeader(getClass().getResourceAsStream("/simpleScenario.feature")).orElseThrow();
+		assertThat(header.location()).isEqualTo(new Location(4, 1));
+		assertThat(header.language()).isEqualTo("en");
+		assertThat(header.tags().stream().map(Tag::name).toList()).containsExactly("@Test1");
+		assertThat(header.keyword()).isEqualTo("Feature");
+		assertThat(header.name()).isEqualTo("Test 1 - Simple Scenario");
+		assertThat(header.description()).isEqualTo(
+			"This is a simple scenario feature without additional behaviour.\n" +
+			"  And this is the second line of comments."
+		);
+		var spanish = parser.probeHeader(getClass().getResourceAsStream("/spanishScenario.feature")).orElseThrow();
+		assertThat(spanish.language()).isEqualTo("es");
+		assertThat(spanish.name()).isEqualTo("Test en español");
+		assertThat(parser.probeHeader(new StringReader("# only a comment\n"))).isEmpty();
+	}
+
+
+	@Test
+	void probeOnlyReadsTheBeginningOfTheSource() {
+		var document = new StringBuilder("Feature: Huge feature\n  Description\n\n");
+		for (int i = 0; i < 10_000; i++) {
+			document.append("  Scenario: scenario ").append(i).append("\n    Given step ").append(i).append('\n');
+		}
+		var source = new CountingInputStream(document.toString().getBytes(StandardCharsets.UTF_8));
+		var header = parser.probeHeader(source).orElseThrow();
+		assertThat(header.name()).isEqualTo("Huge feature");
+		assertThat(header.description()).isEqualTo("Description");
+		assertThat(source.bytesRead).isLessThan(2048);
+		assertThat(source.closed).isTrue();
+	}
+
+
+	private static class CountingInputStream extends FilterInputStream {
+
+		private int bytesRead;
+		private boolean closed;
+
+		CountingInputStream(byte[] bytes) {
+			super(new ByteArrayInputStream(bytes));
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			bytesRead += Math.max(read, 0);
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			super.close();
+		}
+	}
+
+}
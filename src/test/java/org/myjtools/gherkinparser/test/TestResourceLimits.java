@@ -0,0 +1,83 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.*;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestResourceLimits {
+
+	private static final String DOCUMENT = """
+		@a @b @c
+		Feature: Limited feature
+
+		  Scenario: First
+		    Given a table
+		      | a | b |
+		      | 1 | 2 |
+		    And a doc string
+		      ""\"
+		      0123456789
+		      ""\"
+
+		  Scenario: Second
+		    Given a step
+		""";
+
+
+	private static GherkinParser parser(ResourceLimits limits) {
+		var options = ParseOptions.builder().resourceLimits(limits).build();
+		return new GherkinParser(new DefaultKeywordMapProvider(), options);
+	}
+
+
+	@Test
+	void documentsWithinTheLimitsAreParsed() {
+		var limits = ResourceLimits.builder()
+			.maxLineLength(30)
+			.maxFileSize(DOCUMENT.length())
+			.maxTableCells(4)
+			.maxDocStringSize(10)
+			.maxTagsPerLine(3)
+			.maxScenariosPerFeature(2)
+			.build();
+		assertThatCode(() -> parser(limits).parse(new StringReader(DOCUMENT))).doesNotThrowAnyException();
+		assertThat(parser(ResourceLimits.untrusted()).parse(new StringReader(DOCUMENT)).feature().children())
+			.hasSize(2);
+	}
+
+
+	@Test
+	void exceededLimitsFailWithTheirLocation() {
+		assertLimit(ResourceLimits.builder().maxLineLength(20), "(2:21): line length");
+		assertLimit(ResourceLimits.builder().maxFileSize(100), "(7:14): file size");
+		assertLimit(ResourceLimits.builder().maxTableCells(3), "(7:7): table cells");
+		assertLimit(ResourceLimits.builder().maxDocStringSize(9), "(10:1): doc string size");
+		assertLimit(ResourceLimits.builder().maxTagsPerLine(2), "(1:1): tags per line");
+		assertLimit(ResourceLimits.builder().maxScenariosPerFeature(1), "(13:3): scenarios per feature");
+	}
+
+
+	@Test
+	void exceededLimitsAreNotCollectedAsSyntaxErrors() {
+		var parser = parser(ResourceLimits.builder().maxLineLength(20).build());
+		assertThatThrownBy(() -> parser.tryParse(new StringReader(DOCUMENT)))
+			.isInstanceOf(ResourceLimitException.class);
+		assertThatThrownBy(() -> parser.validate(new StringReader(DOCUMENT)))
+			.isInstanceOf(ResourceLimitException.class);
+	}
+
+
+	private static void assertLimit(ResourceLimits.Builder limits, String locatedLimit) {
+		var parser = parser(limits.build());
+		assertThatThrownBy(() -> parser.parse(new StringReader(DOCUMENT)))
+			.isInstanceOf(ResourceLimitException.class)
+			.hasMessageContaining(locatedLimit + " exceeds the limit");
+	}
+
+}
@@ -0,0 +1,90 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.ParseOptions;
+import org.myjtools.gherkinparser.StringInterner;
+import org.myjtools.gherkinparser.elements.DocString;
+import org.myjtools.gherkinparser.elements.Feature;
+import org.myjtools.gherkinparser.elements.GherkinDocument;
+import org.myjtools.gherkinparser.elements.Location;
+import org.myjtools.gherkinparser.elements.RetainedSizeEstimator;
+import org.myjtools.gherkinparser.elements.RetainedSizeEstimator.Kind;
+import org.myjtools.gherkinparser.elements.Scenario;
+import org.myjtools.gherkinparser.elements.Step;
+import org.myjtools.gherkinparser.elements.StructuralSharing;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestRetainedSize {
+
+
+	@Test
+	void breakdownAddsUpToTheTotal() {
+		var estimator = new RetainedSizeEstimator()
+			.add(parse(ParseOptions.defaults(), "/dataTable.feature"))
+			.add(parse(ParseOptions.defaults(), "/docString.feature"));
+		assertThat(estimator.documents()).isEqualTo(2);
+		assertThat(estimator.bytes(Kind.TABLES)).isPositive();
+		assertThat(estimator.bytes(Kind.DOC_STRINGS)).isPositive();
+		assertThat(estimator.breakdown().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(estimator.total());
+	}
+
+
+	@Test
+	void docStringsOfAnyCharSequenceAreSized() {
+		var location = new Location(1, 1);
+		var docString = new DocString(location, null, (CharSequence) new StringBuilder("x".repeat(100)));
+		var step = new Step(location, List.of(), "Given ", "a doc string", docString);
+		var scenario = new Scenario(location, List.of(), List.of(), "Scenario", "s", null, List.of(step));
+		var feature = new Feature(location, List.of(), List.of(), "Feature", "f", null, List.of(scenario), "en");
+		var estimator = new RetainedSizeEstimator().add(new GherkinDocument(feature));
+		assertThat(estimator.bytes(Kind.DOC_STRINGS)).isGreaterThan(100);
+	}
+
+
+	@Test
+	void documentAddedTwiceIsCountedOnce() {
+		GherkinDocument document = parse(ParseOptions.defaults(), "/scenarioOutline.feature");
+		long single = RetainedSizeEstimator.estimate(document);
+		assertThat(new RetainedSizeEstimator().add(document).add(document).total()).isEqualTo(single);
+	}
+
+
+	@Test
+	void sharedContentIsCountedOnce() {
+		var sharing = ParseOptions.builder()
+			.interner(StringInterner.bounded(1024))
+			.structuralSharing(StructuralSharing.bounded(1024))
+			.build();
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), sharing);
+		GherkinDocument first = parser.parse(getClass().getResourceAsStream("/implementation.feature"));
+		GherkinDocument second = parser.parse(getClass().getResourceAsStream("/implementation.feature"));
+
+		var both = new RetainedSizeEstimator().add(first).add(second);
+		assertThat(both.total()).isLessThan(RetainedSizeEstimator.estimate(first) + RetainedSizeEstimator.estimate(second));
+	}
+
+
+	@Test
+	void leanOptionsReduceTheRetainedSize() {
+		var full = new RetainedSizeEstimator().add(parse(ParseOptions.defaults(), "/simpleScenario.feature"));
+		var lean = new RetainedSizeEstimator().add(parse(
+			ParseOptions.builder().retainComments(false).build(),
+			"/simpleScenario.feature"
+		));
+		assertThat(full.bytes(Kind.COMMENTS)).isPositive();
+		assertThat(lean.bytes(Kind.COMMENTS)).isZero();
+		assertThat(lean.total()).isLessThan(full.total());
+	}
+
+
+	private GherkinDocument parse(ParseOptions options, String resource) {
+		return new GherkinParser(new DefaultKeywordMapProvider(), options).parse(getClass().getResourceAsStream(resource));
+	}
+
+}
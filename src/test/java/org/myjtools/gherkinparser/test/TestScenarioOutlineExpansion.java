@@ -0,0 +1,66 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.elements.DataTable;
+import org.myjtools.gherkinparser.elements.Scenario;
+import org.myjtools.gherkinparser.elements.ScenarioOutline;
+import org.myjtools.gherkinparser.elements.Tag;
+
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestScenarioOutlineExpansion {
+
+	private ScenarioOutline parseOutline() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		var parsed = parser.parse(getClass().getResourceAsStream("/scenarioOutline.feature"));
+		return (ScenarioOutline) parsed.feature().children().getFirst();
+	}
+
+	@Test
+	void outlineIsExpandedOnceForEachExamplesRow() {
+		var scenarios = parseOutline().expand().toList();
+		assertThat(scenarios).hasSize(5);
+		assertThat(scenarios.stream().map(Scenario::name).toList()).containsExactly(
+			"Multiply 1 by 2",
+			"Multiply 2 by 3",
+			"Multiply 3 by 4",
+			"Multiply 100 by 200",
+			"Multiply 300 by 400"
+		);
+		var last = scenarios.getLast();
+		assertThat(last.children().getFirst().text()).isEqualTo("a number with value 300");
+		assertThat(last.children().getLast().text()).isEqualTo("the result is 120000");
+		var table = (DataTable) last.children().getLast().argument();
+		assertThat(table.rows().get(1).cells().get(1).value()).isEqualTo("120000");
+		assertThat(last.tags().stream().map(Tag::name).toList()).containsExactly("@math", "@big");
+		assertThat(last.location().line()).isEqualTo(27);
+	}
+
+	@Test
+	void expansionSpliteratorIsSizedAndSplitsEvenly() {
+		var spliterator = parseOutline().expansionSpliterator();
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+		assertThat(spliterator.estimateSize()).isEqualTo(5L);
+		var prefix = spliterator.trySplit();
+		assertThat(prefix.estimateSize()).isEqualTo(2L);
+		assertThat(spliterator.estimateSize()).isEqualTo(3L);
+	}
+
+	@Test
+	void parallelExpansionKeepsEncounterOrder() {
+		var outline = parseOutline();
+		var sequential = outline.expand().map(Scenario::name).toList();
+		var parallel = IntStream.range(0, 20)
+			.mapToObj(i -> outline.expand().parallel().map(Scenario::name).toList())
+			.distinct()
+			.toList();
+		assertThat(parallel).containsExactly(sequential);
+	}
+
+}
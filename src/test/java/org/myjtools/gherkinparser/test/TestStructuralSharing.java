@@ -0,0 +1,63 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.StringInterner;
+import org.myjtools.gherkinparser.elements.DataTable;
+import org.myjtools.gherkinparser.elements.DocString;
+import org.myjtools.gherkinparser.elements.Location;
+import org.myjtools.gherkinparser.elements.Step;
+import org.myjtools.gherkinparser.elements.StructuralSharing;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestStructuralSharing {
+
+	private List<List<Step>> parseSteps(GherkinParser parser) {
+		var parsed = parser.parse(getClass().getResourceAsStream("/sharedSteps.feature"));
+		return parsed.feature().children().stream().map(it -> it.children()).toList();
+	}
+
+	@Test
+	void repeatedStepArgumentsShareTheirContentAndKeepTheirLocations() {
+		var parser = new GherkinParser(
+			new DefaultKeywordMapProvider(),
+			StringInterner.none(),
+			StructuralSharing.bounded(1024)
+		);
+		var steps = parseSteps(parser);
+		var firstDocString = (DocString) steps.get(1).get(1).argument();
+		var secondDocString = (DocString) steps.get(2).get(0).argument();
+		assertThat(secondDocString.contentView()).isSameAs(firstDocString.contentView());
+		assertThat(secondDocString.location()).isEqualTo(new Location(20, 9));
+
+		var firstTable = (DataTable) steps.get(1).get(2).argument();
+		var secondTable = (DataTable) steps.get(2).get(1).argument();
+		assertThat(secondTable.table().value(1, 1)).isSameAs(firstTable.table().value(1, 1));
+		assertThat(secondTable.rows().get(1).location()).isEqualTo(new Location(25, 9));
+		assertThat(secondTable.rows().get(1).cells().get(1).location()).isEqualTo(new Location(25, 16));
+		assertThat(firstTable.rows().get(1).cells().get(1).location()).isEqualTo(new Location(16, 14));
+
+		assertThat(steps.get(2).get(0).text()).isSameAs(steps.get(1).get(1).text());
+		var backgroundComment = steps.get(0).get(0).comments().getFirst();
+		var scenarioComment = steps.get(1).get(0).comments().getFirst();
+		assertThat(scenarioComment.text()).isSameAs(backgroundComment.text());
+		assertThat(scenarioComment.location()).isEqualTo(new Location(8, 1));
+	}
+
+	@Test
+	void sharedDocumentsAreEqualToNonSharedDocuments() {
+		var shared = new GherkinParser(
+			new DefaultKeywordMapProvider(),
+			StringInterner.none(),
+			StructuralSharing.bounded(1024)
+		);
+		var plain = new GherkinParser(new DefaultKeywordMapProvider());
+		assertThat(parseSteps(shared)).isEqualTo(parseSteps(plain));
+	}
+
+}
@@ -0,0 +1,91 @@
+package org.myjtools.gherkinparser.test;
+
+
+import org.junit.jupiter.api.Test;
+import org.myjtools.gherkinparser.DefaultKeywordMapProvider;
+import org.myjtools.gherkinparser.GherkinParser;
+import org.myjtools.gherkinparser.ParseOptions;
+import org.myjtools.gherkinparser.ParserException;
+import org.myjtools.gherkinparser.TableRowConsumer.TableType;
+import org.myjtools.gherkinparser.elements.DataTable;
+import org.myjtools.gherkinparser.elements.ScenarioOutline;
+import org.myjtools.gherkinparser.elements.TableRow;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestTableRowConsumer {
+
+	private record StreamedRow(TableType tableType, int rowIndex, TableRow row) { }
+
+	@Test
+	void dataTableRowsAreStreamedAndOnlyTheFirstRowIsRetained() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		List<StreamedRow> streamed = new ArrayList<>();
+		var parsed = parser.parse(
+			getClass().getResourceAsStream("/dataTable.feature"),
+			(tableType, rowIndex, row) -> streamed.add(new StreamedRow(tableType, rowIndex, row))
+		);
+		assertThat(streamed).hasSize(3);
+		assertThat(streamed.getLast().tableType()).isEqualTo(TableType.DATA_TABLE);
+		assertThat(streamed.getLast().rowIndex()).isEqualTo(2);
+		assertThat(streamed.getLast().row().cells().getFirst().value()).isEqualTo("bob");
+		var dataTable = (DataTable) parsed.feature().children().getFirst().children().getFirst().argument();
+		assertThat(dataTable.rows()).hasSize(1);
+		assertThat(dataTable.table().totalRowCount()).isEqualTo(3);
+	}
+
+	@Test
+	void rowsOfSkippedDataTablesAreStillStreamed() {
+		var options = ParseOptions.builder().retainStepArguments(false).build();
+		var parser = new GherkinParser(new DefaultKeywordMapProvider(), options);
+		List<StreamedRow> streamed = new ArrayList<>();
+		var parsed = parser.parse(
+			getClass().getResourceAsStream("/dataTable.feature"),
+			(tableType, rowIndex, row) -> streamed.add(new StreamedRow(tableType, rowIndex, row))
+		);
+		assertThat(streamed).hasSize(3);
+		assertThat(streamed.getLast().row().cells().getFirst().value()).isEqualTo("bob");
+		assertThat(parsed.feature().children().getFirst().children().getFirst().argument()).isNull();
+	}
+
+	@Test
+	void examplesRowsAreStreamedPerTable() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		List<StreamedRow> streamed = new ArrayList<>();
+		var parsed = parser.parse(
+			getClass().getResourceAsStream("/scenarioOutline.feature"),
+			(tableType, rowIndex, row) -> streamed.add(new StreamedRow(tableType, rowIndex, row))
+		);
+		assertThat(streamed.stream().filter(it -> it.tableType() == TableType.EXAMPLES_TABLE).count())
+			.isEqualTo(8L);
+		assertThat(streamed.stream().filter(it -> it.rowIndex() == 0).count()).isEqualTo(4L);
+		var outline = (ScenarioOutline) parsed.feature().children().getFirst();
+		var examples = outline.examples().getFirst();
+		assertThat(examples.tableHeader().cells()).hasSize(3);
+		assertThat(examples.tableBody()).isEmpty();
+	}
+
+	@Test
+	void inconsistentCellCountIsReportedWhileStreaming() {
+		var parser = new GherkinParser(new DefaultKeywordMapProvider());
+		var feature = """
+			Feature: Broken table
+			  Scenario: Scenario with a broken table
+			    Given the following values:
+			      | a | b |
+			      | 1 | 2 |
+			      | 3 |
+			""";
+		List<Integer> rows = new ArrayList<>();
+		assertThatThrownBy(() -> parser.parse(new StringReader(feature), (tableType, rowIndex, row) -> rows.add(rowIndex)))
+			.isInstanceOf(ParserException.class)
+			.hasMessageContaining("(6:7): inconsistent cell count within the table");
+		assertThat(rows).containsExactly(0, 1);
+	}
+
+}
@@ -0,0 +1,8 @@
+Feature: Data tables
+
+  Scenario: Scenario with a data table
+    Given the following users:
+      | name  | email            | role  |
+      | alice | alice@domain.org | admin |
+      | bob   | bob@domain.org   | user  |
+    Then there are 2 users
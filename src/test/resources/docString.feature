@@ -0,0 +1,17 @@
+Feature: Doc strings
+
+  Scenario: Scenario with doc strings
+    Given the following JSON document:
+      """json
+      {
+        "name": "value",
+          "nested": true
+      }
+      """
+    And the following text:
+      ```
+      A line with an escaped \"\"\" separator
+     A less indented line
+
+      Last line
+      ```
@@ -0,0 +1,7 @@
+Feature: Invalid feature
+
+  Scenario: Scenario with unexpected lines
+    Given a valid step
+    this line is not a step
+    neither is this one
+    nor this one
@@ -0,0 +1,27 @@
+@outline
+Feature: Scenario outline expansion
+
+  @math
+  Scenario Outline: Multiply <a> by <b>
+    Given a number with value <a>
+    And another number with value <b>
+    When both numbers are multiplied
+    Then the result is <c>
+      | operand | result |
+      | <a>     | <c>    |
+
+    @small
+    Examples: small numbers
+      | a | b | c  |
+      | 1 | 2 | 2  |
+      | 2 | 3 | 6  |
+      | 3 | 4 | 12 |
+
+    Examples: no rows
+      | a | b | c |
+
+    @big
+    Examples: big numbers
+      | a   | b   | c     |
+      | 100 | 200 | 20000 |
+      | 300 | 400 | 120000 |
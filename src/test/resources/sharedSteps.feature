@@ -0,0 +1,25 @@
+Feature: Repeated steps
+
+  Background:
+    # the service must be running
+    Given the service is running
+
+  Scenario: First scenario
+    # the service must be running
+    Given the service is running
+    When the following request is sent:
+      """json
+      { "id": 1 }
+      """
+    Then the response contains:
+      | id | status |
+      | 1  | OK     |
+
+  Scenario: Second scenario
+      When the following request is sent:
+        """json
+        { "id": 1 }
+        """
+      Then the response contains:
+        | id | status |
+        | 1  | OK     |